@@ -16,35 +16,69 @@
 
 package org.springframework.cloud.deployer.spi.kubernetes;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import io.fabric8.kubernetes.api.model.Affinity;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Event;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.api.model.PodSecurityContext;
 import io.fabric8.kubernetes.api.model.PodSpec;
 import io.fabric8.kubernetes.api.model.PodSpecBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.ResourceRequirements;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServiceList;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.BytesLimitTerminateTimeTailPrettyLoggable;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import io.fabric8.kubernetes.client.dsl.Loggable;
+import io.fabric8.kubernetes.client.dsl.TailPrettyLoggable;
+import io.fabric8.kubernetes.client.dsl.TimeTailPrettyLoggable;
+import io.fabric8.kubernetes.client.dsl.TimestampBytesLimitTerminateTimeTailPrettyLoggable;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cloud.deployer.spi.app.AppDeployer;
 import org.springframework.cloud.deployer.spi.app.AppStatus;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.core.RuntimeEnvironmentInfo;
+import org.springframework.cloud.deployer.spi.kubernetes.support.ConcatenatingReader;
 import org.springframework.cloud.deployer.spi.kubernetes.support.PropertyParserUtils;
 import org.springframework.cloud.deployer.spi.scheduler.ScheduleRequest;
 import org.springframework.cloud.deployer.spi.util.RuntimeVersionUtils;
 import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -59,7 +93,7 @@ import org.springframework.util.StringUtils;
  * @author Enrique Medina Montenegro
  * @author Ilayaperumal Gopinathan
  */
-public class AbstractKubernetesDeployer {
+public class AbstractKubernetesDeployer implements DisposableBean {
 
 	protected static final String SPRING_DEPLOYMENT_KEY = "spring-deployment-id";
 	protected static final String SPRING_GROUP_KEY = "spring-group-id";
@@ -71,6 +105,8 @@ public class AbstractKubernetesDeployer {
 
 	private static final String SERVER_PORT_KEY = "server.port";
 
+	private static final String SPRING_CLOUD_APPLICATION_GUID = "SPRING_CLOUD_APPLICATION_GUID";
+
 	protected final Log logger = LogFactory.getLog(getClass().getName());
 
 	protected ContainerFactory containerFactory;
@@ -81,6 +117,12 @@ public class AbstractKubernetesDeployer {
 
 	protected DeploymentPropertiesResolver deploymentPropertiesResolver;
 
+	private volatile ExecutorService apiExecutor;
+
+	private volatile ScheduledExecutorService scheduler;
+
+	private ImagePrePuller imagePrePuller;
+
 	/**
 	 * Create the RuntimeEnvironmentInfo.
 	 *
@@ -142,22 +184,412 @@ public class AbstractKubernetesDeployer {
 					}
 				}
 				//find the container with the correct env var
-				for(Container container : pod.getSpec().getContainers()) {
-					if(container.getEnv().stream().anyMatch(envVar -> "SPRING_CLOUD_APPLICATION_GUID".equals(envVar.getName()))) {
-						//find container status for this container
-						Optional<ContainerStatus> containerStatusOptional =
-							pod.getStatus().getContainerStatuses()
-							   .stream().filter(containerStatus -> container.getName().equals(containerStatus.getName()))
-							   .findFirst();
+				if (getAppContainerName(pod) != null) {
+					KubernetesAppInstanceStatus instanceStatus = new KubernetesAppInstanceStatus(pod, service, properties,
+							findAppContainerStatus(pod));
+					if (PodDiagnostics.getPodScheduledCondition(pod) != null) {
+						instanceStatus.setWarningEvents(getWarningEvents(pod));
+					}
+					statusBuilder.with(instanceStatus);
+				}
+			}
+		}
+		return statusBuilder.build();
+	}
 
-						statusBuilder.with(new KubernetesAppInstanceStatus(pod, service, properties, containerStatusOptional.orElse(null)));
+	/**
+	 * Get the warning events of a pod, e.g. the scheduler reporting insufficient resources or untolerated taints.
+	 * Only requested for pods that are not scheduled, to keep status requests cheap.
+	 *
+	 * @param pod the pod
+	 * @return the warning events, empty if they cannot be listed
+	 */
+	protected List<Event> getWarningEvents(Pod pod) {
+		try {
+			return client.events()
+					.withField("involvedObject.kind", "Pod")
+					.withField("involvedObject.name", pod.getMetadata().getName())
+					.withField("type", "Warning")
+					.list().getItems();
+		}
+		catch (RuntimeException e) {
+			logger.debug(String.format("Failed to list the events of pod %s", pod.getMetadata().getName()), e);
+			return Collections.emptyList();
+		}
+	}
 
-						break;
+	/**
+	 * Create a reader over the logs of the given pods, one pod after another. A pod's log is only requested
+	 * once the reader reaches it, so logs flow to the caller without being held in memory.
+	 *
+	 * @param pods the pods to read the logs of
+	 * @param options the log options
+	 * @return the log reader
+	 */
+	protected Reader createLogReader(List<Pod> pods, KubernetesLogOptions options) {
+		List<Pod> selectedPods = pods.stream()
+				.filter(pod -> options.getPodName() == null || options.getPodName().equals(pod.getMetadata().getName()))
+				.collect(Collectors.toList());
+
+		if (options.isFollow() && selectedPods.size() > 1) {
+			throw new IllegalArgumentException(String.format(
+					"Cannot follow the logs of %d pods, select a single pod to follow", selectedPods.size()));
+		}
+
+		List<Supplier<Reader>> readers = new ArrayList<>();
+		for (Pod pod : selectedPods) {
+			readers.add(() -> openPodLogReader(pod, options));
+		}
+
+		return new ConcatenatingReader(readers);
+	}
+
+	/**
+	 * Fetch the logs of the given pods concurrently and combine them into a single String. Pod logs are kept
+	 * in pod name order, or merged by timestamp when {@link KubernetesLogOptions#isTimestamps()} is set. A pod
+	 * whose log is not fetched within the {@code logFetchTimeout} is reported as unavailable rather than
+	 * holding up the other pods.
+	 *
+	 * @param pods the pods to fetch the logs of
+	 * @param options the log options
+	 * @return the combined log
+	 */
+	protected String fetchLogs(List<Pod> pods, KubernetesLogOptions options) {
+		Assert.isTrue(!options.isFollow(), "Following a log requires a log reader");
+
+		List<Pod> selectedPods = pods.stream()
+				.filter(pod -> options.getPodName() == null || options.getPodName().equals(pod.getMetadata().getName()))
+				.sorted(Comparator.comparing(pod -> pod.getMetadata().getName()))
+				.collect(Collectors.toList());
+
+		Map<String, String> logsByPod = fetchPodLogs(selectedPods, pod -> options);
+
+		return options.isTimestamps() ? PodLogAggregator.mergeByTimestamp(logsByPod) :
+				PodLogAggregator.concatenate(logsByPod);
+	}
+
+	/**
+	 * Fetch the log lines the given pods wrote since the state captured in the continuation token. Without
+	 * a token the default tail of each pod's log is returned.
+	 *
+	 * @param pods the pods to fetch the logs of
+	 * @param continuationToken the token returned by the previous call, or {@code null}
+	 * @return the new log lines and the token for the next call
+	 */
+	protected KubernetesLogSegment fetchLogsSince(List<Pod> pods, String continuationToken) {
+		KubernetesLogCursor cursor = KubernetesLogCursor.decode(continuationToken);
+
+		List<Pod> sortedPods = pods.stream()
+				.sorted(Comparator.comparing(pod -> pod.getMetadata().getName()))
+				.collect(Collectors.toList());
+
+		Map<String, String> timestampedLogs = fetchPodLogs(sortedPods, pod -> {
+			KubernetesLogOptions options = new KubernetesLogOptions().withTimestamps(true);
+			String sinceTime = cursor.getSinceTime(getLogCursorKey(pod));
+			return (sinceTime != null) ? options.withSinceTime(sinceTime).withTailingLines(-1) : options;
+		});
+
+		Map<String, String> logsByPod = new LinkedHashMap<>();
+		for (Pod pod : sortedPods) {
+			String podName = pod.getMetadata().getName();
+			logsByPod.put(podName, cursor.advance(getLogCursorKey(pod), timestampedLogs.get(podName)));
+		}
+
+		return new KubernetesLogSegment(PodLogAggregator.concatenate(logsByPod), cursor.encode());
+	}
+
+	private String getLogCursorKey(Pod pod) {
+		String containerName = getAppContainerName(pod);
+		if (containerName == null) {
+			containerName = pod.getSpec().getContainers().get(0).getName();
+		}
+		return pod.getMetadata().getName() + "/" + containerName;
+	}
+
+	private Map<String, String> fetchPodLogs(List<Pod> pods, Function<Pod, KubernetesLogOptions> podOptions) {
+		Map<String, PodLogFetch> fetches = new LinkedHashMap<>();
+		for (Pod pod : pods) {
+			PodLogFetch fetch = new PodLogFetch(pod, podOptions.apply(pod));
+			fetch.future = getApiExecutor().submit(fetch);
+			fetches.put(pod.getMetadata().getName(), fetch);
+		}
+
+		// the timeout bounds the whole fetch, so each pod only gets the time left by the pods before it
+		int timeoutSeconds = this.properties.getLogFetchTimeout();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+		Map<String, String> logsByPod = new LinkedHashMap<>();
+		fetches.forEach((podName, fetch) -> logsByPod.put(podName, fetch.await(deadline, timeoutSeconds)));
+		return logsByPod;
+	}
+
+	/**
+	 * The executor used to issue Kubernetes API requests concurrently. Its size is bounded by the
+	 * {@code maxConcurrentApiRequests} deployer property.
+	 *
+	 * @return the executor
+	 */
+	protected ExecutorService getApiExecutor() {
+		ExecutorService executor = this.apiExecutor;
+		if (executor == null) {
+			synchronized (this) {
+				executor = this.apiExecutor;
+				if (executor == null) {
+					CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+							getClass().getSimpleName() + "-api-");
+					threadFactory.setDaemon(true);
+					executor = Executors.newFixedThreadPool(this.properties.getMaxConcurrentApiRequests(), threadFactory);
+					this.apiExecutor = executor;
+				}
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * Run the given operations concurrently on the {@link #getApiExecutor() API executor} and collect their
+	 * outcomes. A failing operation does not affect the others.
+	 *
+	 * @param operations the operations keyed by the item they apply to
+	 * @param <K> the item key type
+	 * @param <V> the operation result type
+	 * @return the outcome of each operation
+	 */
+	protected <K, V> BatchOperationResult<K, V> runBatch(Map<K, Callable<V>> operations) {
+		Map<K, Future<V>> futures = new LinkedHashMap<>();
+		operations.forEach((key, operation) -> futures.put(key, getApiExecutor().submit(operation)));
+
+		BatchOperationResult<K, V> result = new BatchOperationResult<>();
+		futures.forEach((key, future) -> {
+			try {
+				result.addSuccess(key, future.get());
+			}
+			catch (ExecutionException e) {
+				result.addFailure(key, (e.getCause() instanceof Exception) ? (Exception) e.getCause() : e);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				future.cancel(true);
+				result.addFailure(key, e);
+			}
+		});
+		return result;
+	}
+
+	protected String readLog(Reader logReader) {
+		try {
+			return FileCopyUtils.copyToString(logReader);
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Unable to read log", e);
+		}
+	}
+
+	private class PodLogFetch implements Callable<String> {
+		private final Pod pod;
+		private final KubernetesLogOptions options;
+		private volatile Reader reader;
+		private volatile boolean cancelled;
+		private Future<String> future;
+
+		PodLogFetch(Pod pod, KubernetesLogOptions options) {
+			this.pod = pod;
+			this.options = options;
+		}
+
+		@Override
+		public String call() throws IOException {
+			this.reader = openPodLogReader(this.pod, this.options);
+			if (this.cancelled) {
+				// timed out while the log was being opened, after the reader could be closed
+				closeQuietly(this.reader);
+				return "";
+			}
+			return FileCopyUtils.copyToString(this.reader);
+		}
+
+		String await(long deadline, int timeoutSeconds) {
+			String podName = this.pod.getMetadata().getName();
+			try {
+				return this.future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+			}
+			catch (TimeoutException e) {
+				logger.warn(String.format("Timed out fetching the log of pod %s after %d seconds", podName,
+						timeoutSeconds));
+				cancel();
+				return String.format("(log unavailable: timed out after %d seconds)\n", timeoutSeconds);
+			}
+			catch (ExecutionException e) {
+				logger.warn(String.format("Failed to fetch the log of pod %s", podName), e.getCause());
+				return String.format("(log unavailable: %s)\n", e.getCause().getMessage());
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				cancel();
+				throw new IllegalStateException("Interrupted while fetching the log of pod " + podName, e);
+			}
+		}
+
+		// a blocking read ignores the interrupt, so the reader is closed to release the API thread
+		private void cancel() {
+			this.cancelled = true;
+			this.future.cancel(true);
+			closeQuietly(this.reader);
+		}
+
+		private void closeQuietly(Reader reader) {
+			if (reader != null) {
+				try {
+					reader.close();
+				}
+				catch (IOException e) {
+					logger.debug("Failed to close log reader", e);
+				}
+			}
+		}
+	}
+
+	private Reader openPodLogReader(Pod pod, KubernetesLogOptions options) {
+		String podName = pod.getMetadata().getName();
+
+		if (pod.getSpec().getContainers().size() > 1) {
+			String containerName = getAppContainerName(pod);
+			if (containerName == null) {
+				return new StringReader("");
+			}
+			return openLogReader(this.client.pods().withName(podName).inContainer(containerName), options);
+		}
+
+		return openLogReader(this.client.pods().withName(podName), options);
+	}
+
+	private <W, O> Reader openLogReader(TimestampBytesLimitTerminateTimeTailPrettyLoggable<W, O> loggable,
+			KubernetesLogOptions options) {
+		BytesLimitTerminateTimeTailPrettyLoggable<W, O> bytesLimitLoggable = options.isTimestamps() ?
+				loggable.usingTimestamps() : loggable;
+
+		TimeTailPrettyLoggable<W, O> timeTailLoggable = (options.getLimitBytes() != null) ?
+				bytesLimitLoggable.limitBytes(options.getLimitBytes()) : bytesLimitLoggable;
+
+		TailPrettyLoggable<W, O> tailLoggable = timeTailLoggable;
+		if (StringUtils.hasText(options.getSinceTime())) {
+			tailLoggable = timeTailLoggable.sinceTime(options.getSinceTime());
+		}
+		else if (options.getSinceSeconds() != null) {
+			tailLoggable = timeTailLoggable.sinceSeconds(options.getSinceSeconds());
+		}
+
+		int tailingLines = (options.getTailingLines() != null) ? options.getTailingLines() :
+				this.properties.getLogTailingLines();
+		Loggable<W, O> log = (tailingLines >= 0) ? tailLoggable.tailingLines(tailingLines) : tailLoggable;
+
+		if (options.isFollow()) {
+			LogWatch logWatch = (LogWatch) log.watchLog();
+			return new InputStreamReader(logWatch.getOutput(), StandardCharsets.UTF_8) {
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					}
+					finally {
+						logWatch.close();
 					}
 				}
+			};
+		}
+
+		return log.getLogReader();
+	}
+
+	/**
+	 * Find the name of the app container, the one carrying the SPRING_CLOUD_APPLICATION_GUID env var.
+	 *
+	 * @param pod the pod
+	 * @return the container name or {@code null} if there is none
+	 */
+	String getAppContainerName(Pod pod) {
+		for (Container container : pod.getSpec().getContainers()) {
+			if (container.getEnv().stream().anyMatch(envVar -> SPRING_CLOUD_APPLICATION_GUID.equals(envVar.getName()))) {
+				return container.getName();
 			}
 		}
-		return statusBuilder.build();
+		return null;
+	}
+
+	/**
+	 * Find the status of the app container of the given pod.
+	 *
+	 * @param pod the pod
+	 * @return the container status or {@code null} if the pod has no app container or it has no status yet
+	 */
+	ContainerStatus findAppContainerStatus(Pod pod) {
+		String containerName = getAppContainerName(pod);
+		if (containerName == null || pod.getStatus() == null) {
+			return null;
+		}
+		Optional<ContainerStatus> containerStatus = pod.getStatus().getContainerStatuses().stream()
+				.filter(status -> containerName.equals(status.getName()))
+				.findFirst();
+		return containerStatus.orElse(null);
+	}
+
+	/**
+	 * Shut down the API executor and the scheduler. Called by Spring when the deployer is a bean.
+	 */
+	@Override
+	public void destroy() {
+		ExecutorService executor = this.apiExecutor;
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+		ScheduledExecutorService scheduler = this.scheduler;
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+
+	/**
+	 * The scheduler used to enforce deadlines of asynchronous operations.
+	 *
+	 * @return the scheduler
+	 */
+	protected ScheduledExecutorService getScheduler() {
+		ScheduledExecutorService scheduler = this.scheduler;
+		if (scheduler == null) {
+			synchronized (this) {
+				scheduler = this.scheduler;
+				if (scheduler == null) {
+					CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+							getClass().getSimpleName() + "-scheduler-");
+					threadFactory.setDaemon(true);
+					scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+					this.scheduler = scheduler;
+				}
+			}
+		}
+		return scheduler;
+	}
+
+	/**
+	 * Set the pre-puller the images of deployed apps or launched tasks are registered with.
+	 *
+	 * @param imagePrePuller the pre-puller, or {@code null} to not pre-pull images
+	 */
+	public void setImagePrePuller(ImagePrePuller imagePrePuller) {
+		this.imagePrePuller = imagePrePuller;
+	}
+
+	protected void registerImage(AppDeploymentRequest request) {
+		if (this.imagePrePuller == null) {
+			return;
+		}
+		try {
+			this.imagePrePuller.register(request.getResource().getURI().getSchemeSpecificPart(),
+					this.deploymentPropertiesResolver.getImagePullSecret(request.getDeploymentProperties()));
+		}
+		catch (IOException | RuntimeException e) {
+			// pre-pulling only speeds up later starts, it must not fail the deployment
+			logger.warn("Unable to register image of " + request.getResource() + " for pre-pulling", e);
+		}
 	}
 
 	protected void logPossibleDownloadResourceMessage(Resource resource) {
@@ -201,9 +633,7 @@ public class AbstractKubernetesDeployer {
 		Container container = containerFactory.create(containerConfiguration);
 
 		// add memory and cpu resource limits
-		ResourceRequirements req = new ResourceRequirements();
-		req.setLimits(this.deploymentPropertiesResolver.deduceResourceLimits(deploymentProperties));
-		req.setRequests(this.deploymentPropertiesResolver.deduceResourceRequests(deploymentProperties));
+		ResourceRequirements req = this.deploymentPropertiesResolver.deduceResourceRequirements(deploymentProperties);
 		container.setResources(req);
 		ImagePullPolicy pullPolicy = this.deploymentPropertiesResolver.deduceImagePullPolicy(deploymentProperties);
 		container.setImagePullPolicy(pullPolicy.name());
@@ -215,6 +645,9 @@ public class AbstractKubernetesDeployer {
 
 		podSpec.withTolerations(this.deploymentPropertiesResolver.getTolerations(deploymentProperties));
 
+		podSpec.withTopologySpreadConstraints(this.deploymentPropertiesResolver.getTopologySpreadConstraints(
+				deploymentProperties, Collections.singletonMap(SPRING_APP_KEY, appId)));
+
 		// only add volumes with corresponding volume mounts
 		podSpec.withVolumes(this.deploymentPropertiesResolver.getVolumes(deploymentProperties).stream()
 				.filter(volume -> container.getVolumeMounts().stream()
@@ -234,6 +667,18 @@ public class AbstractKubernetesDeployer {
 			podSpec.withServiceAccountName(deploymentServiceAcccountName);
 		}
 
+		String priorityClassName = this.deploymentPropertiesResolver.getPriorityClassName(deploymentProperties);
+
+		if (priorityClassName != null) {
+			podSpec.withPriorityClassName(priorityClassName);
+		}
+
+		String preemptionPolicy = this.deploymentPropertiesResolver.getPreemptionPolicy(deploymentProperties);
+
+		if (preemptionPolicy != null) {
+			podSpec.withPreemptionPolicy(preemptionPolicy);
+		}
+
 		PodSecurityContext podSecurityContext = this.deploymentPropertiesResolver.getPodSecurityContext(deploymentProperties);
 		if (podSecurityContext != null) {
 			podSpec.withSecurityContext(podSecurityContext);
@@ -252,7 +697,40 @@ public class AbstractKubernetesDeployer {
 			podSpec.addToInitContainers(initContainer);
 		}
 
-		return podSpec.build();
+		PodSpec spec = podSpec.build();
+		applyQosProfileToInitContainers(spec, deploymentProperties);
+		return spec;
+	}
+
+	/**
+	 * Give the init containers the CPU and memory resources of the app container when the app uses the
+	 * guaranteed QoS profile. Kubernetes only assigns the Guaranteed class, which CPU pinning relies on, when
+	 * every container of the pod including the init containers has equal requests and limits. Init containers
+	 * run before the app container, so this does not raise the resources the pod requests.
+	 *
+	 * @param podSpec the pod spec whose init containers to update
+	 * @param deploymentProperties the deployment properties
+	 */
+	void applyQosProfileToInitContainers(PodSpec podSpec, Map<String, String> deploymentProperties) {
+		if (this.deploymentPropertiesResolver.getQosProfile(deploymentProperties) != QosProfile.guaranteed) {
+			return;
+		}
+		ResourceRequirements appResources = podSpec.getContainers().get(0).getResources();
+		for (Container initContainer : podSpec.getInitContainers()) {
+			ResourceRequirements resources = (initContainer.getResources() != null) ?
+					initContainer.getResources() : new ResourceRequirements();
+			Map<String, Quantity> limits = (resources.getLimits() != null) ?
+					new HashMap<>(resources.getLimits()) : new HashMap<>();
+			Map<String, Quantity> requests = (resources.getRequests() != null) ?
+					new HashMap<>(resources.getRequests()) : new HashMap<>();
+			for (String resource : Arrays.asList("cpu", "memory")) {
+				limits.put(resource, appResources.getLimits().get(resource));
+				requests.put(resource, appResources.getRequests().get(resource));
+			}
+			resources.setLimits(limits);
+			resources.setRequests(requests);
+			initContainer.setResources(resources);
+		}
 	}
 
 	int getExternalPort(final AppDeploymentRequest request) {
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+
+/**
+ * Completes once exactly the expected number of pods of an app are running and pass the readiness checks of the
+ * {@link RunningPhaseDeploymentStateResolver}. For an app scaled by an autoscaler, at least the expected number of
+ * pods must be ready. Pods are tracked through a watch rather than by polling, and the barrier fails once the
+ * deadline passes.
+ */
+class AppReadinessBarrier implements Watcher<Pod> {
+
+	private static final Log logger = LogFactory.getLog(AppReadinessBarrier.class);
+
+	private final String appId;
+
+	private final int expectedCount;
+
+	private final Function<Pod, DeploymentState> podState;
+
+	private Function<Pod, String> failureDetector = pod -> null;
+
+	private boolean autoscaled;
+
+	private final Map<String, Pod> pods = new ConcurrentHashMap<>();
+
+	private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+	/**
+	 * Create a barrier for the given app.
+	 *
+	 * @param appId the app id
+	 * @param expectedCount the number of pods to wait for
+	 * @param podState resolves the state of a single pod
+	 */
+	AppReadinessBarrier(String appId, int expectedCount, Function<Pod, DeploymentState> podState) {
+		this.appId = appId;
+		this.expectedCount = expectedCount;
+		this.podState = podState;
+	}
+
+	/**
+	 * Create a barrier that resolves pod states the way the app status does.
+	 *
+	 * @param deployer the deployer the app was deployed with
+	 * @param appId the app id
+	 * @param expectedCount the number of pods to wait for
+	 * @return the barrier
+	 */
+	static AppReadinessBarrier forApp(AbstractKubernetesDeployer deployer, String appId, int expectedCount) {
+		return new AppReadinessBarrier(appId, expectedCount, pod -> {
+			ContainerStatus containerStatus = deployer.findAppContainerStatus(pod);
+			return new KubernetesAppInstanceStatus(pod, null, deployer.properties, containerStatus).getState();
+		});
+	}
+
+	/**
+	 * Fail the barrier as soon as a pod shows a failure that will not resolve by waiting.
+	 *
+	 * @param failureDetector returns the failure reason of a pod or {@code null}
+	 * @return this barrier
+	 */
+	AppReadinessBarrier withFailureDetector(Function<Pod, String> failureDetector) {
+		this.failureDetector = failureDetector;
+		return this;
+	}
+
+	/**
+	 * Accept more ready pods than expected, as an autoscaler may scale the app beyond the requested count
+	 * while it rolls out.
+	 *
+	 * @return this barrier
+	 */
+	AppReadinessBarrier withAutoscaler() {
+		this.autoscaled = true;
+		return this;
+	}
+
+	/**
+	 * Fail the barrier for a reason detected outside of the pods, e.g. from the owning workload.
+	 *
+	 * @param reason the failure reason
+	 */
+	void fail(String reason) {
+		this.future.completeExceptionally(new IllegalStateException(
+				String.format("App '%s' failed to become ready: %s", this.appId, reason)));
+	}
+
+	/**
+	 * Start watching the pods of the app.
+	 *
+	 * @param client the client to watch with
+	 * @param scheduler the scheduler enforcing the deadline
+	 * @param timeout the time to wait for the pods to become ready
+	 * @return a future completing once the pods are ready, or exceptionally with a {@link TimeoutException}
+	 */
+	CompletableFuture<Void> await(KubernetesClient client, ScheduledExecutorService scheduler, Duration timeout) {
+		PodList podList = client.pods().withLabel(AbstractKubernetesDeployer.SPRING_APP_KEY, this.appId).list();
+		podList.getItems().forEach(pod -> this.pods.put(pod.getMetadata().getName(), pod));
+
+		// watch from the listed version so that no change between the list and the watch is missed
+		Watch watch = client.pods().withLabel(AbstractKubernetesDeployer.SPRING_APP_KEY, this.appId)
+				.watch(podList.getMetadata().getResourceVersion(), this);
+		ScheduledFuture<?> deadline = scheduler.schedule(() -> this.future.completeExceptionally(
+				new TimeoutException(String.format("App '%s' did not reach %d ready instances within %s", this.appId,
+						this.expectedCount, timeout))), timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+		this.future.whenComplete((result, throwable) -> {
+			deadline.cancel(false);
+			watch.close();
+		});
+		evaluate();
+		return this.future;
+	}
+
+	@Override
+	public void eventReceived(Action action, Pod pod) {
+		if (action == Action.DELETED) {
+			this.pods.remove(pod.getMetadata().getName());
+		}
+		else if (action != Action.ERROR) {
+			this.pods.put(pod.getMetadata().getName(), pod);
+		}
+		evaluate();
+	}
+
+	@Override
+	public void onClose(KubernetesClientException cause) {
+		if (cause != null) {
+			this.future.completeExceptionally(cause);
+		}
+	}
+
+	/**
+	 * The number of pods that are not being deleted and are ready.
+	 *
+	 * @return the ready pod count
+	 */
+	int getReadyCount() {
+		return (int) this.pods.values().stream()
+				.filter(pod -> pod.getMetadata().getDeletionTimestamp() == null)
+				.filter(pod -> this.podState.apply(pod) == DeploymentState.deployed)
+				.count();
+	}
+
+	private void evaluate() {
+		for (Pod pod : this.pods.values()) {
+			String failureReason = (pod.getMetadata().getDeletionTimestamp() == null) ?
+					this.failureDetector.apply(pod) : null;
+			if (failureReason != null) {
+				fail(String.format("pod %s %s", pod.getMetadata().getName(), failureReason));
+				return;
+			}
+		}
+
+		if (isReady()) {
+			this.future.complete(null);
+		}
+	}
+
+	/**
+	 * Whether enough pods are ready. Unless autoscaled, surplus pods, e.g. from scaling down, must be gone.
+	 *
+	 * @return {@code true} if the barrier can complete
+	 */
+	boolean isReady() {
+		long liveCount = this.pods.values().stream()
+				.filter(pod -> pod.getMetadata().getDeletionTimestamp() == null)
+				.count();
+		int readyCount = getReadyCount();
+		logger.debug(String.format("App %s has %d of %d pods ready (%d live)", this.appId, readyCount,
+				this.expectedCount, liveCount));
+		return readyCount >= this.expectedCount && (this.autoscaled || liveCount == this.expectedCount);
+	}
+}
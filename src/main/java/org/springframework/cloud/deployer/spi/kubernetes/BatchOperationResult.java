@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The outcome of an operation applied to several items at once. Each item either succeeded with a result or
+ * failed with an exception; a failure of one item does not affect the others.
+ *
+ * @param <K> the item key type
+ * @param <V> the result type of a successful item
+ */
+public class BatchOperationResult<K, V> {
+
+	private final Map<K, V> successes = new LinkedHashMap<>();
+
+	private final Map<K, Exception> failures = new LinkedHashMap<>();
+
+	void addSuccess(K key, V result) {
+		this.successes.put(key, result);
+	}
+
+	void addFailure(K key, Exception exception) {
+		this.failures.put(key, exception);
+	}
+
+	/**
+	 * @return the results of the successful items, in submission order
+	 */
+	public Map<K, V> getSuccesses() {
+		return Collections.unmodifiableMap(this.successes);
+	}
+
+	/**
+	 * @return the exceptions of the failed items, in submission order
+	 */
+	public Map<K, Exception> getFailures() {
+		return Collections.unmodifiableMap(this.failures);
+	}
+
+	/**
+	 * @return {@code true} if no item failed
+	 */
+	public boolean isSuccessful() {
+		return this.failures.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("BatchOperationResult[successes=%s, failures=%s]", this.successes.keySet(),
+				this.failures.keySet());
+	}
+}
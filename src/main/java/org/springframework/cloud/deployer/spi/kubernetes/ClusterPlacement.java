@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+/**
+ * Defines the strategies available to pick the target cluster when multiple clusters are configured.
+ */
+public enum ClusterPlacement {
+	/**
+	 * Requests are spread over the configured clusters in turn.
+	 */
+	roundRobin,
+
+	/**
+	 * Requests are placed on the cluster with the fewest running apps or tasks.
+	 */
+	leastLoaded,
+
+	/**
+	 * Requests must name their target cluster with the
+	 * {@code spring.cloud.deployer.kubernetes.cluster} deployment property.
+	 */
+	pinned;
+
+	/**
+	 * Create the {@link ClusterPlacementStrategy} for this placement type.
+	 *
+	 * @return the placement strategy
+	 */
+	ClusterPlacementStrategy createStrategy() {
+		switch (this) {
+		case leastLoaded:
+			return new ClusterPlacementStrategy.LeastLoaded();
+		case pinned:
+			return new ClusterPlacementStrategy.Pinned();
+		default:
+			return new ClusterPlacementStrategy.RoundRobin();
+		}
+	}
+}
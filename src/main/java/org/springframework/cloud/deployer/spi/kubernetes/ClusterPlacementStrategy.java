@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+/**
+ * Picks the cluster a deploy, launch or schedule request is placed on when multiple clusters are
+ * configured. A request that names its cluster with the {@code cluster} deployment property is
+ * always placed there and never reaches the strategy.
+ */
+public interface ClusterPlacementStrategy {
+
+	/**
+	 * Select the target cluster.
+	 *
+	 * @param clusterNames the names of the configured clusters, in configuration order
+	 * @param clusterLoad returns the current load of the named cluster
+	 * @return the name of the selected cluster
+	 */
+	String select(List<String> clusterNames, ToIntFunction<String> clusterLoad);
+
+	class RoundRobin implements ClusterPlacementStrategy {
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Override
+		public String select(List<String> clusterNames, ToIntFunction<String> clusterLoad) {
+			int index = (counter.getAndIncrement() & Integer.MAX_VALUE) % clusterNames.size();
+			return clusterNames.get(index);
+		}
+	}
+
+	class LeastLoaded implements ClusterPlacementStrategy {
+
+		@Override
+		public String select(List<String> clusterNames, ToIntFunction<String> clusterLoad) {
+			String selected = null;
+			int lowestLoad = Integer.MAX_VALUE;
+			for (String clusterName : clusterNames) {
+				int load = clusterLoad.applyAsInt(clusterName);
+				if (selected == null || load < lowestLoad) {
+					selected = clusterName;
+					lowestLoad = load;
+				}
+			}
+			return selected;
+		}
+	}
+
+	class Pinned implements ClusterPlacementStrategy {
+
+		@Override
+		public String select(List<String> clusterNames, ToIntFunction<String> clusterLoad) {
+			throw new IllegalArgumentException(String.format("The '%s' deployment property must name one of the " +
+					"configured clusters %s", KubernetesClusterRouter.CLUSTER_PROPERTY_KEY, clusterNames));
+		}
+	}
+}
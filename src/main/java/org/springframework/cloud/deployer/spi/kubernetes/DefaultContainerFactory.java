@@ -35,6 +35,7 @@ import io.fabric8.kubernetes.api.model.EnvVar;
 import io.fabric8.kubernetes.api.model.EnvVarSource;
 import io.fabric8.kubernetes.api.model.ObjectFieldSelector;
 import io.fabric8.kubernetes.api.model.Probe;
+import io.fabric8.kubernetes.api.model.Quantity;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -95,6 +96,17 @@ public class DefaultContainerFactory implements ContainerFactory {
 		//image supports it.
 		envVarsMap.putAll(deploymentPropertiesResolver.getAppEnvironmentVariables(deploymentProperties));
 
+		KubernetesDeployerProperties.JvmMemory jvmMemory = deploymentPropertiesResolver.getJvmMemory(deploymentProperties);
+		if (jvmMemory.isEnabled() && !envVarsMap.containsKey(JavaToolOptions.JAVA_TOOL_OPTIONS)) {
+			Map<String, Quantity> limits = deploymentPropertiesResolver.deduceResourceRequirements(deploymentProperties)
+					.getLimits();
+			String javaToolOptions = JavaToolOptions.create(jvmMemory, limits.get("memory"), limits.get("cpu"));
+			if (javaToolOptions != null) {
+				logger.debug("Using JAVA_TOOL_OPTIONS: " + javaToolOptions);
+				envVarsMap.put(JavaToolOptions.JAVA_TOOL_OPTIONS, javaToolOptions);
+			}
+		}
+
 		List<String> appArgs = new ArrayList<>();
 
 		switch (entryPointStyle) {
@@ -167,6 +179,7 @@ public class DefaultContainerFactory implements ContainerFactory {
 
 		configureReadinessProbe(containerConfiguration, container, ports);
 		configureLivenessProbe(containerConfiguration, container, ports);
+		configureStartupProbe(containerConfiguration, container, ports);
 
 		if (!ports.isEmpty()) {
 			for (Integer containerPort : ports) {
@@ -204,28 +217,56 @@ public class DefaultContainerFactory implements ContainerFactory {
 
 	private void configureReadinessProbe(ContainerConfiguration containerConfiguration,
 						ContainerBuilder containerBuilder, Set<Integer> ports) {
-		Probe readinessProbe = new ReadinessProbeCreator(this.properties, containerConfiguration).create();
+		Probe readinessProbe = createProbe(new ReadinessProbeCreator(this.properties, containerConfiguration), ports);
 
-		Integer readinessProbePort = readinessProbe.getHttpGet().getPort().getIntVal();
-
-		if (readinessProbePort != null) {
+		if (readinessProbe != null) {
 			containerBuilder.withReadinessProbe(readinessProbe);
-			ports.add(readinessProbePort);
 		}
 	}
 
 	private void configureLivenessProbe(ContainerConfiguration containerConfiguration,
 						ContainerBuilder containerBuilder, Set<Integer> ports) {
-		Probe livenessProbe = new LivenessProbeCreator(properties, containerConfiguration).create();
-
-		Integer livenessProbePort = livenessProbe.getHttpGet().getPort().getIntVal();
+		Probe livenessProbe = createProbe(new LivenessProbeCreator(properties, containerConfiguration), ports);
 
-		if (livenessProbePort != null) {
+		if (livenessProbe != null) {
 			containerBuilder.withLivenessProbe(livenessProbe);
-			ports.add(livenessProbePort);
 		}
 	}
 
+	private void configureStartupProbe(ContainerConfiguration containerConfiguration,
+						ContainerBuilder containerBuilder, Set<Integer> ports) {
+		StartupProbeCreator startupProbeCreator = new StartupProbeCreator(properties, containerConfiguration);
+
+		if (!startupProbeCreator.isEnabled()) {
+			return;
+		}
+
+		Probe startupProbe = createProbe(startupProbeCreator, ports);
+
+		if (startupProbe != null) {
+			containerBuilder.withStartupProbe(startupProbe);
+		}
+	}
+
+	/**
+	 * Create the probe and collect the port it checks. Probes other than exec probes are skipped when
+	 * there is no port to check.
+	 */
+	private Probe createProbe(ProbeCreator probeCreator, Set<Integer> ports) {
+		if (probeCreator.getProbeType() == ProbeType.exec) {
+			return probeCreator.create();
+		}
+
+		Integer probePort = probeCreator.getPort();
+
+		if (probePort == null) {
+			return null;
+		}
+
+		ports.add(probePort);
+		return probeCreator.create();
+	}
+
 	/**
 	 * Create command arguments
 	 *
@@ -15,6 +15,7 @@
  */
 package org.springframework.cloud.deployer.spi.kubernetes;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -37,9 +38,12 @@ import io.fabric8.kubernetes.api.model.EnvVarSource;
 import io.fabric8.kubernetes.api.model.PodSecurityContext;
 import io.fabric8.kubernetes.api.model.PodSecurityContextBuilder;
 import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
 import io.fabric8.kubernetes.api.model.SecretEnvSource;
 import io.fabric8.kubernetes.api.model.SecretKeySelector;
 import io.fabric8.kubernetes.api.model.Toleration;
+import io.fabric8.kubernetes.api.model.TopologySpreadConstraint;
+import io.fabric8.kubernetes.api.model.TopologySpreadConstraintBuilder;
 import io.fabric8.kubernetes.api.model.Volume;
 import io.fabric8.kubernetes.api.model.VolumeMount;
 import org.apache.commons.logging.Log;
@@ -105,6 +109,52 @@ class DeploymentPropertiesResolver {
 		return tolerations;
 	}
 
+	/**
+	 * Topology spread constraints are specified in YAML format and replace the deployer property constraints:
+	 *
+	 * <code>
+	 *     spring.cloud.deployer.kubernetes.topologySpreadConstraints=[{maxSkew: 1, topologyKey: 'kubernetes.io/hostname', whenUnsatisfiable: 'ScheduleAnyway'}]
+	 * </code>
+	 *
+	 * @param kubernetesDeployerProperties the kubernetes deployment properties map
+	 * @param defaultLabelSelector the labels selecting the pods to spread when a constraint has no label selector
+	 * @return the topology spread constraints
+	 */
+	List<TopologySpreadConstraint> getTopologySpreadConstraints(Map<String, String> kubernetesDeployerProperties,
+			Map<String, String> defaultLabelSelector) {
+		List<KubernetesDeployerProperties.TopologySpreadConstraint> constraints = bindProperties(
+				kubernetesDeployerProperties, this.propertyPrefix + ".topologySpreadConstraints",
+				"topologySpreadConstraints").getTopologySpreadConstraints();
+
+		if (constraints.isEmpty()) {
+			constraints = this.properties.getTopologySpreadConstraints();
+		}
+
+		List<TopologySpreadConstraint> topologySpreadConstraints = new ArrayList<>();
+		for (KubernetesDeployerProperties.TopologySpreadConstraint constraint : constraints) {
+			Assert.hasText(constraint.getTopologyKey(), "Topology spread constraints require a topologyKey");
+			Assert.isTrue(constraint.getMaxSkew() != null && constraint.getMaxSkew() > 0,
+					format("Invalid topology spread constraint maxSkew: %s", constraint.getMaxSkew()));
+			Assert.isTrue("DoNotSchedule".equals(constraint.getWhenUnsatisfiable()) ||
+					"ScheduleAnyway".equals(constraint.getWhenUnsatisfiable()),
+					format("Invalid topology spread constraint whenUnsatisfiable: '%s'", constraint.getWhenUnsatisfiable()));
+
+			Map<String, String> labelSelector = constraint.getLabelSelector().isEmpty() ?
+					defaultLabelSelector : constraint.getLabelSelector();
+
+			topologySpreadConstraints.add(new TopologySpreadConstraintBuilder()
+					.withMaxSkew(constraint.getMaxSkew())
+					.withTopologyKey(constraint.getTopologyKey())
+					.withWhenUnsatisfiable(constraint.getWhenUnsatisfiable())
+					.withNewLabelSelector()
+					.withMatchLabels(labelSelector)
+					.endLabelSelector()
+					.build());
+		}
+
+		return topologySpreadConstraints;
+	}
+
 	/**
 	 * Volume deployment properties are specified in YAML format:
 	 *
@@ -260,6 +310,123 @@ class DeploymentPropertiesResolver {
 		return requests;
 	}
 
+	/**
+	 * Get the resource requests and limits for the deployment request, made consistent with the QoS profile
+	 * of the app, if any:
+	 * <ul>
+	 *     <li>guaranteed: CPU and memory requests and limits are equal, each taken from the limit and falling
+	 *     back to the request</li>
+	 *     <li>burstable: at least one CPU or memory request or limit must be set, and with both CPU and memory
+	 *     limits at least one request must be below its limit</li>
+	 *     <li>besteffort: CPU and memory requests and limits are removed</li>
+	 * </ul>
+	 * CPU pinning additionally requires the guaranteed profile with a whole number of CPUs.
+	 *
+	 * @param kubernetesDeployerProperties the kubernetes deployer properties map
+	 * @return the resource requirements to use
+	 */
+	ResourceRequirements deduceResourceRequirements(Map<String, String> kubernetesDeployerProperties) {
+		Map<String, Quantity> limits = deduceResourceLimits(kubernetesDeployerProperties);
+		Map<String, Quantity> requests = deduceResourceRequests(kubernetesDeployerProperties);
+		QosProfile qosProfile = getQosProfile(kubernetesDeployerProperties);
+
+		if (qosProfile == QosProfile.guaranteed) {
+			for (String resource : Arrays.asList("cpu", "memory")) {
+				Quantity quantity = limits.containsKey(resource) ? limits.get(resource) : requests.get(resource);
+				Assert.notNull(quantity, format("The guaranteed QoS profile requires a %s limit or request", resource));
+				limits.put(resource, quantity);
+				requests.put(resource, quantity);
+			}
+		}
+		else if (qosProfile == QosProfile.burstable) {
+			Assert.isTrue(Arrays.asList("cpu", "memory").stream()
+					.anyMatch(resource -> limits.containsKey(resource) || requests.containsKey(resource)),
+					"The burstable QoS profile requires a cpu or memory limit or request");
+			Assert.isTrue(!isGuaranteed(limits, requests), "The burstable QoS profile requires a cpu or memory "
+					+ "request below its limit, requests default to the limits which would make the pod guaranteed");
+		}
+		else if (qosProfile == QosProfile.besteffort) {
+			limits.keySet().removeAll(Arrays.asList("cpu", "memory"));
+			requests.keySet().removeAll(Arrays.asList("cpu", "memory"));
+		}
+
+		if (getCpuPinning(kubernetesDeployerProperties)) {
+			Assert.isTrue(qosProfile == QosProfile.guaranteed, "CPU pinning requires the guaranteed QoS profile");
+			Assert.isTrue(isWholeCpu(limits.get("cpu")),
+					format("CPU pinning requires a whole number of CPUs, got '%s'", toString(limits.get("cpu"))));
+		}
+
+		ResourceRequirements resourceRequirements = new ResourceRequirements();
+		resourceRequirements.setLimits(limits);
+		resourceRequirements.setRequests(requests);
+		return resourceRequirements;
+	}
+
+	QosProfile getQosProfile(Map<String, String> kubernetesDeployerProperties) {
+		String qosProfile = PropertyParserUtils.getDeploymentPropertyValue(kubernetesDeployerProperties,
+				this.propertyPrefix + ".qosProfile", "");
+
+		if (StringUtils.hasText(qosProfile)) {
+			for (QosProfile profile : QosProfile.values()) {
+				if (profile.name().equalsIgnoreCase(qosProfile.trim())) {
+					return profile;
+				}
+			}
+			throw new IllegalArgumentException(format("Invalid qosProfile value: '%s'", qosProfile));
+		}
+
+		return this.properties.getQosProfile();
+	}
+
+	boolean getCpuPinning(Map<String, String> kubernetesDeployerProperties) {
+		String cpuPinning = PropertyParserUtils.getDeploymentPropertyValue(kubernetesDeployerProperties,
+				this.propertyPrefix + ".cpuPinning", "");
+
+		if (StringUtils.hasText(cpuPinning)) {
+			return Boolean.valueOf(cpuPinning.trim());
+		}
+
+		return this.properties.isCpuPinning();
+	}
+
+	// Kubernetes defaults missing requests to the limits
+	private static boolean isGuaranteed(Map<String, Quantity> limits, Map<String, Quantity> requests) {
+		Quantity cpuLimit = limits.get("cpu");
+		Quantity memoryLimit = limits.get("memory");
+		if (cpuLimit == null || memoryLimit == null) {
+			return false;
+		}
+		try {
+			return JavaToolOptions.toCores(requests.getOrDefault("cpu", cpuLimit))
+					.compareTo(JavaToolOptions.toCores(cpuLimit)) == 0
+					&& JavaToolOptions.toBytes(requests.getOrDefault("memory", memoryLimit))
+					== JavaToolOptions.toBytes(memoryLimit);
+		}
+		catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	private static boolean isWholeCpu(Quantity cpu) {
+		if (cpu == null) {
+			return false;
+		}
+		try {
+			BigDecimal cores = JavaToolOptions.toCores(cpu);
+			return cores.signum() > 0 && cores.stripTrailingZeros().scale() <= 0;
+		}
+		catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	private static String toString(Quantity quantity) {
+		if (quantity == null) {
+			return null;
+		}
+		return quantity.getAmount() + (quantity.getFormat() != null ? quantity.getFormat() : "");
+	}
+
 	/**
 	 * Get the StatefulSet storage class name to be set in VolumeClaim template for the deployment properties.
 	 *
@@ -373,6 +540,31 @@ class DeploymentPropertiesResolver {
 		return deploymentServiceAccountName;
 	}
 
+	String getPriorityClassName(Map<String, String> kubernetesDeployerProperties) {
+		String priorityClassName = PropertyParserUtils.getDeploymentPropertyValue(kubernetesDeployerProperties,
+				this.propertyPrefix + ".priorityClassName");
+
+		if (StringUtils.isEmpty(priorityClassName)) {
+			priorityClassName = properties.getPriorityClassName();
+		}
+
+		return priorityClassName;
+	}
+
+	String getPreemptionPolicy(Map<String, String> kubernetesDeployerProperties) {
+		String preemptionPolicy = PropertyParserUtils.getDeploymentPropertyValue(kubernetesDeployerProperties,
+				this.propertyPrefix + ".preemptionPolicy");
+
+		if (StringUtils.isEmpty(preemptionPolicy)) {
+			preemptionPolicy = properties.getPreemptionPolicy();
+		}
+
+		Assert.isTrue(preemptionPolicy == null || "PreemptLowerPriority".equals(preemptionPolicy) ||
+				"Never".equals(preemptionPolicy), format("Invalid preemptionPolicy value: '%s'", preemptionPolicy));
+
+		return preemptionPolicy;
+	}
+
 	PodSecurityContext getPodSecurityContext(Map<String, String> kubernetesDeployerProperties) {
 		PodSecurityContext podSecurityContext = null;
 
@@ -601,6 +793,122 @@ class DeploymentPropertiesResolver {
 		return deployerProperties;
 	}
 
+	StatefulSetIndexProvider getStatefulSetIndexProvider(Map<String, String> kubernetesDeployerProperties) {
+		String indexProvider = PropertyParserUtils.getDeploymentPropertyValue(kubernetesDeployerProperties,
+				this.propertyPrefix + ".statefulSetIndexProvider", "");
+
+		if (StringUtils.hasText(indexProvider)) {
+			for (StatefulSetIndexProvider statefulSetIndexProvider : StatefulSetIndexProvider.values()) {
+				if (statefulSetIndexProvider.name().equalsIgnoreCase(indexProvider.trim())) {
+					return statefulSetIndexProvider;
+				}
+			}
+			throw new IllegalArgumentException(format("Invalid statefulSetIndexProvider value: '%s'", indexProvider));
+		}
+
+		return this.properties.getStatefulSetIndexProvider();
+	}
+
+	/**
+	 * Get the HorizontalPodAutoscaler settings for the deployment request. Each setting falls back to the
+	 * deployer property; custom metrics are specified in YAML format:
+	 *
+	 * <code>
+	 *     spring.cloud.deployer.kubernetes.autoscaler.customMetrics=[{name: 'http_requests', targetAverageValue: '100'}]
+	 * </code>
+	 *
+	 * @param kubernetesDeployerProperties the kubernetes deployment properties map
+	 * @return the autoscaler settings or {@code null} if no autoscaler is configured
+	 */
+	KubernetesDeployerProperties.Autoscaler getAutoscaler(Map<String, String> kubernetesDeployerProperties) {
+		KubernetesDeployerProperties.Autoscaler defaults = this.properties.getAutoscaler();
+		KubernetesDeployerProperties.Autoscaler autoscaler = new KubernetesDeployerProperties.Autoscaler();
+		String autoscalerPrefix = this.propertyPrefix + ".autoscaler";
+
+		autoscaler.setMinReplicas(getIntegerProperty(kubernetesDeployerProperties, autoscalerPrefix + ".minReplicas",
+				defaults.getMinReplicas()));
+		autoscaler.setMaxReplicas(getIntegerProperty(kubernetesDeployerProperties, autoscalerPrefix + ".maxReplicas",
+				defaults.getMaxReplicas()));
+		autoscaler.setCpuUtilization(getIntegerProperty(kubernetesDeployerProperties,
+				autoscalerPrefix + ".cpuUtilization", defaults.getCpuUtilization()));
+		autoscaler.setMemoryUtilization(getIntegerProperty(kubernetesDeployerProperties,
+				autoscalerPrefix + ".memoryUtilization", defaults.getMemoryUtilization()));
+
+		List<KubernetesDeployerProperties.CustomMetric> customMetrics = bindProperties(kubernetesDeployerProperties,
+				autoscalerPrefix + ".customMetrics", "autoscaler.customMetrics").getAutoscaler().getCustomMetrics();
+		autoscaler.setCustomMetrics(customMetrics.isEmpty() ? defaults.getCustomMetrics() : customMetrics);
+
+		if (autoscaler.getMaxReplicas() == null) {
+			return null;
+		}
+
+		Assert.isTrue(autoscaler.getMinReplicas() == null || autoscaler.getMinReplicas() <= autoscaler.getMaxReplicas(),
+				format("Autoscaler minReplicas %d exceeds maxReplicas %d", autoscaler.getMinReplicas(),
+						autoscaler.getMaxReplicas()));
+		autoscaler.getCustomMetrics().forEach(metric -> Assert.isTrue(StringUtils.hasText(metric.getName()) &&
+				StringUtils.hasText(metric.getTargetAverageValue()),
+				"Autoscaler custom metrics require a name and a targetAverageValue"));
+
+		return autoscaler;
+	}
+
+	/**
+	 * Get the progress deadline of a Deployment, after which the Deployment controller reports the rollout
+	 * as failed.
+	 *
+	 * @param kubernetesDeployerProperties the kubernetes deployment properties map
+	 * @return the progress deadline in seconds or {@code null} for the Kubernetes default
+	 */
+	Integer getProgressDeadlineSeconds(Map<String, String> kubernetesDeployerProperties) {
+		return getIntegerProperty(kubernetesDeployerProperties, this.propertyPrefix + ".progressDeadlineSeconds",
+				this.properties.getProgressDeadlineSeconds());
+	}
+
+	/**
+	 * Get the JVM memory settings for the deployment request, each falling back to the deployer property.
+	 *
+	 * @param kubernetesDeployerProperties the kubernetes deployment properties map
+	 * @return the JVM memory settings
+	 */
+	KubernetesDeployerProperties.JvmMemory getJvmMemory(Map<String, String> kubernetesDeployerProperties) {
+		KubernetesDeployerProperties.JvmMemory defaults = this.properties.getJvmMemory();
+		KubernetesDeployerProperties.JvmMemory jvmMemory = new KubernetesDeployerProperties.JvmMemory();
+		String jvmMemoryPrefix = this.propertyPrefix + ".jvmMemory";
+
+		String enabled = PropertyParserUtils.getDeploymentPropertyValue(kubernetesDeployerProperties,
+				jvmMemoryPrefix + ".enabled");
+		jvmMemory.setEnabled(StringUtils.hasText(enabled) ? Boolean.valueOf(enabled.trim()) : defaults.isEnabled());
+		jvmMemory.setHeapPercentage(getIntegerProperty(kubernetesDeployerProperties,
+				jvmMemoryPrefix + ".heapPercentage", defaults.getHeapPercentage()));
+		jvmMemory.setMaxMetaspace(PropertyParserUtils.getDeploymentPropertyValue(kubernetesDeployerProperties,
+				jvmMemoryPrefix + ".maxMetaspace", defaults.getMaxMetaspace()));
+		jvmMemory.setMaxDirectMemory(PropertyParserUtils.getDeploymentPropertyValue(kubernetesDeployerProperties,
+				jvmMemoryPrefix + ".maxDirectMemory", defaults.getMaxDirectMemory()));
+		String selectGarbageCollector = PropertyParserUtils.getDeploymentPropertyValue(kubernetesDeployerProperties,
+				jvmMemoryPrefix + ".selectGarbageCollector");
+		jvmMemory.setSelectGarbageCollector(StringUtils.hasText(selectGarbageCollector) ?
+				Boolean.valueOf(selectGarbageCollector.trim()) : defaults.isSelectGarbageCollector());
+
+		Assert.isTrue(jvmMemory.getHeapPercentage() > 0 && jvmMemory.getHeapPercentage() < 100,
+				format("Invalid jvmMemory heapPercentage: %d", jvmMemory.getHeapPercentage()));
+
+		return jvmMemory;
+	}
+
+	private Integer getIntegerProperty(Map<String, String> kubernetesDeployerProperties, String propertyKey,
+			Integer defaultValue) {
+		String value = PropertyParserUtils.getDeploymentPropertyValue(kubernetesDeployerProperties, propertyKey);
+		if (!StringUtils.hasText(value)) {
+			return defaultValue;
+		}
+		try {
+			return Integer.valueOf(value.trim());
+		}
+		catch (NumberFormatException e) {
+			throw new IllegalArgumentException(format("Invalid integer value '%s' for '%s'", value, propertyKey), e);
+		}
+	}
+
 	String getStatefulSetInitContainerImageName(Map<String, String> kubernetesDeployerProperties) {
 		String statefulSetInitContainerImageName = PropertyParserUtils.getDeploymentPropertyValue(kubernetesDeployerProperties,
 				this.propertyPrefix + ".statefulSetInitContainerImageName", "");
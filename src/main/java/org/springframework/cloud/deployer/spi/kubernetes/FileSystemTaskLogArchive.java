@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.Assert;
+import org.springframework.util.FileCopyUtils;
+
+/**
+ * A {@link TaskLogArchive} that stores gzipped task logs in a local directory. Once the archived logs exceed
+ * the configured total size, the oldest archives are deleted, except for the one just archived.
+ */
+public class FileSystemTaskLogArchive implements TaskLogArchive {
+
+	private static final String ARCHIVE_SUFFIX = ".log.gz";
+
+	private static final Log logger = LogFactory.getLog(FileSystemTaskLogArchive.class);
+
+	private final Path directory;
+
+	private final long maxSize;
+
+	/**
+	 * Create an archive in the given directory.
+	 *
+	 * @param directory the directory to store the logs in, created if missing
+	 * @param maxSize the maximum total size in bytes of the archived logs
+	 */
+	public FileSystemTaskLogArchive(Path directory, long maxSize) {
+		Assert.notNull(directory, "Directory must not be null");
+		Assert.isTrue(maxSize > 0, "Maximum archive size must be greater than 0");
+		this.directory = directory;
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	public void archive(String id, Reader log) throws IOException {
+		Files.createDirectories(this.directory);
+		Path archive = getArchivePath(id);
+		Path tempFile = Files.createTempFile(this.directory, id, ".tmp");
+
+		try {
+			// logs are written concurrently, only replacing the archive and rotating are serialized
+			try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING);
+					Writer writer = new OutputStreamWriter(new GZIPOutputStream(Channels.newOutputStream(channel)),
+							StandardCharsets.UTF_8)) {
+				FileCopyUtils.copy(log, writer);
+			}
+			synchronized (this) {
+				// readers never see a partially written archive
+				Files.move(tempFile, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				rotate(archive);
+			}
+		}
+		finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	@Override
+	public boolean contains(String id) {
+		return Files.isRegularFile(getArchivePath(id));
+	}
+
+	@Override
+	public Reader openLog(String id) throws IOException {
+		Path archive = getArchivePath(id);
+		if (!Files.isRegularFile(archive)) {
+			return null;
+		}
+		FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ);
+		try {
+			return new InputStreamReader(new GZIPInputStream(Channels.newInputStream(channel)), StandardCharsets.UTF_8);
+		}
+		catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private Path getArchivePath(String id) {
+		Assert.isTrue(id.indexOf('/') < 0 && id.indexOf('\\') < 0 && !id.startsWith("."),
+				"Invalid task execution id: " + id);
+		return this.directory.resolve(id + ARCHIVE_SUFFIX);
+	}
+
+	// the archive just written is never deleted, even when it alone exceeds the maximum size
+	private void rotate(Path written) throws IOException {
+		List<Path> archives = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory, "*" + ARCHIVE_SUFFIX)) {
+			stream.forEach(archives::add);
+		}
+
+		long totalSize = 0;
+		for (Path archive : archives) {
+			totalSize += Files.size(archive);
+		}
+
+		archives.sort(Comparator.comparing(FileSystemTaskLogArchive::lastModified));
+		for (Path archive : archives) {
+			if (totalSize <= this.maxSize) {
+				break;
+			}
+			if (archive.equals(written)) {
+				continue;
+			}
+			long size = Files.size(archive);
+			Files.deleteIfExists(archive);
+			totalSize -= size;
+			logger.debug(String.format("Deleted archived task log %s to stay within %d bytes", archive, this.maxSize));
+		}
+	}
+
+	private static FileTime lastModified(Path path) {
+		try {
+			return Files.getLastModifiedTime(path);
+		}
+		catch (IOException e) {
+			return FileTime.fromMillis(0);
+		}
+	}
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.LocalObjectReference;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.apps.DaemonSet;
+import io.fabric8.kubernetes.api.model.apps.DaemonSetBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
+
+/**
+ * Maintains a DaemonSet that pulls the images of deployed apps and launched tasks onto every node, so that
+ * further instances start without waiting for an image pull. Each image runs as its own container of the
+ * DaemonSet pods, so an image that fails to pull does not hold up the others. The containers run a static
+ * sleep binary that an init container copies into a shared volume, so images without a shell can be
+ * pre-pulled as well. Images not used within the
+ * retention period are dropped from the DaemonSet, which leaves them to the kubelet image garbage collection.
+ */
+public class ImagePrePuller implements Closeable {
+
+	static final String PREPULL_LABEL_VALUE = "image-prepuller";
+
+	private static final String NOOP_VOLUME = "prepull";
+
+	private static final String NOOP_PATH = "/prepull";
+
+	private static final Log logger = LogFactory.getLog(ImagePrePuller.class);
+
+	private final KubernetesClient client;
+
+	private final KubernetesDeployerProperties.ImagePrePull properties;
+
+	private final Clock clock;
+
+	private final Map<String, Instant> lastUsed = new ConcurrentHashMap<>();
+
+	private final Map<String, String> imagePullSecrets = new ConcurrentHashMap<>();
+
+	private volatile List<String> currentImages = Collections.emptyList();
+
+	private volatile List<String> currentImagePullSecrets = Collections.emptyList();
+
+	private ScheduledExecutorService scheduler;
+
+	public ImagePrePuller(KubernetesClient client, KubernetesDeployerProperties.ImagePrePull properties) {
+		this(client, properties, Clock.systemUTC());
+	}
+
+	ImagePrePuller(KubernetesClient client, KubernetesDeployerProperties.ImagePrePull properties, Clock clock) {
+		this.client = client;
+		this.properties = properties;
+		this.clock = clock;
+	}
+
+	/**
+	 * Record the use of an image. New images are added to the DaemonSet right away.
+	 *
+	 * @param image the image name
+	 */
+	public void register(String image) {
+		register(image, null);
+	}
+
+	/**
+	 * Record the use of an image that is pulled with the given secret. New images and new secrets are added to
+	 * the DaemonSet right away.
+	 *
+	 * @param image the image name
+	 * @param imagePullSecret the name of the image pull secret, or {@code null}
+	 */
+	public void register(String image, String imagePullSecret) {
+		boolean known = this.lastUsed.put(image, this.clock.instant()) != null;
+		boolean knownSecret = !StringUtils.hasText(imagePullSecret) ||
+				imagePullSecret.equals(this.imagePullSecrets.put(image, imagePullSecret));
+		if (!known && !this.properties.getImages().contains(image) || !knownSecret) {
+			sync();
+		}
+	}
+
+	/**
+	 * Start the periodic synchronization that removes expired images from the DaemonSet.
+	 */
+	public synchronized void start() {
+		if (this.scheduler == null) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("image-prepuller-");
+			threadFactory.setDaemon(true);
+			this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+			long interval = this.properties.getSyncInterval().toMillis();
+			this.scheduler.scheduleWithFixedDelay(this::syncQuietly, 0, interval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		if (this.scheduler != null) {
+			this.scheduler.shutdownNow();
+			this.scheduler = null;
+		}
+	}
+
+	/**
+	 * Drop expired images and update the DaemonSet if the set of images changed.
+	 */
+	public synchronized void sync() {
+		List<String> images = getImages();
+		List<String> pullSecrets = getImagePullSecrets();
+		if (images.equals(this.currentImages) && pullSecrets.equals(this.currentImagePullSecrets)) {
+			return;
+		}
+
+		logger.debug(String.format("Updating image pre-pull DaemonSet %s with images %s and pull secrets %s",
+				this.properties.getDaemonSetName(), images, pullSecrets));
+
+		if (images.isEmpty()) {
+			this.client.apps().daemonSets().withName(this.properties.getDaemonSetName()).delete();
+		}
+		else {
+			this.client.apps().daemonSets().createOrReplace(createDaemonSet(images, pullSecrets));
+		}
+		this.currentImages = images;
+		this.currentImagePullSecrets = pullSecrets;
+	}
+
+	/**
+	 * The images to pre-pull: the configured images followed by the images used within the retention period.
+	 * Expired images are forgotten.
+	 *
+	 * @return the images
+	 */
+	List<String> getImages() {
+		Instant expiry = this.clock.instant().minus(this.properties.getRetention());
+		this.lastUsed.entrySet().removeIf(entry -> entry.getValue().isBefore(expiry));
+		this.imagePullSecrets.keySet().retainAll(this.lastUsed.keySet());
+
+		Set<String> images = new LinkedHashSet<>(this.properties.getImages());
+		this.lastUsed.keySet().stream().sorted().forEach(images::add);
+		return new ArrayList<>(images);
+	}
+
+	/**
+	 * The pull secrets of the images used within the retention period.
+	 *
+	 * @return the secret names
+	 */
+	List<String> getImagePullSecrets() {
+		return this.imagePullSecrets.values().stream().distinct().sorted().collect(Collectors.toList());
+	}
+
+	DaemonSet createDaemonSet(List<String> images, List<String> imagePullSecrets) {
+		List<Container> containers = new ArrayList<>();
+		for (int i = 0; i < images.size(); i++) {
+			containers.add(new ContainerBuilder()
+					.withName("prepull-" + i)
+					.withImage(images.get(i))
+					.withImagePullPolicy(ImagePullPolicy.IfNotPresent.name())
+					.withCommand(this.properties.getCommand())
+					.addNewVolumeMount().withName(NOOP_VOLUME).withMountPath(NOOP_PATH).endVolumeMount()
+					.withNewResources()
+					.addToRequests("cpu", new Quantity("1m"))
+					.addToRequests("memory", new Quantity("8Mi"))
+					.endResources()
+					.build());
+		}
+
+		return new DaemonSetBuilder()
+				.withNewMetadata()
+				.withName(this.properties.getDaemonSetName())
+				.addToLabels(AbstractKubernetesDeployer.SPRING_MARKER_KEY, PREPULL_LABEL_VALUE)
+				.endMetadata()
+				.withNewSpec()
+				.withNewSelector()
+				.addToMatchLabels(AbstractKubernetesDeployer.SPRING_MARKER_KEY, PREPULL_LABEL_VALUE)
+				.addToMatchLabels("name", this.properties.getDaemonSetName())
+				.endSelector()
+				.withNewTemplate()
+				.withNewMetadata()
+				.addToLabels(AbstractKubernetesDeployer.SPRING_MARKER_KEY, PREPULL_LABEL_VALUE)
+				.addToLabels("name", this.properties.getDaemonSetName())
+				.endMetadata()
+				.withNewSpec()
+				.addNewInitContainer()
+				.withName("prepull-noop")
+				.withImage(this.properties.getNoopImage())
+				.withImagePullPolicy(ImagePullPolicy.IfNotPresent.name())
+				.withCommand("cp", "/bin/sleep", NOOP_PATH + "/sleep")
+				.addNewVolumeMount().withName(NOOP_VOLUME).withMountPath(NOOP_PATH).endVolumeMount()
+				.endInitContainer()
+				.withContainers(containers)
+				.withImagePullSecrets(imagePullSecrets.stream()
+						.map(LocalObjectReference::new)
+						.collect(Collectors.toList()))
+				.addNewVolume().withName(NOOP_VOLUME).withNewEmptyDir().endEmptyDir().endVolume()
+				// pre-pull on every node, including tainted ones
+				.addNewToleration().withOperator("Exists").endToleration()
+				.endSpec()
+				.endTemplate()
+				.endSpec()
+				.build();
+	}
+
+	private void syncQuietly() {
+		try {
+			sync();
+		}
+		catch (RuntimeException e) {
+			logger.warn("Failed to update the image pre-pull DaemonSet", e);
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.fabric8.kubernetes.api.model.Quantity;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Derives the {@code JAVA_TOOL_OPTIONS} of an app container from its memory and CPU limits.
+ */
+class JavaToolOptions {
+
+	static final String JAVA_TOOL_OPTIONS = "JAVA_TOOL_OPTIONS";
+
+	private static final Map<String, Long> MEMORY_SUFFIXES = new LinkedHashMap<>();
+
+	static {
+		MEMORY_SUFFIXES.put("Ki", 1L << 10);
+		MEMORY_SUFFIXES.put("Mi", 1L << 20);
+		MEMORY_SUFFIXES.put("Gi", 1L << 30);
+		MEMORY_SUFFIXES.put("Ti", 1L << 40);
+		MEMORY_SUFFIXES.put("k", 1000L);
+		MEMORY_SUFFIXES.put("M", 1000L * 1000);
+		MEMORY_SUFFIXES.put("G", 1000L * 1000 * 1000);
+		MEMORY_SUFFIXES.put("T", 1000L * 1000 * 1000 * 1000);
+	}
+
+	private JavaToolOptions() {
+	}
+
+	/**
+	 * Create the JVM options for the given limits.
+	 *
+	 * @param jvmMemory the JVM memory settings
+	 * @param memoryLimit the container memory limit
+	 * @param cpuLimit the container CPU limit, may be {@code null}
+	 * @return the JVM options or {@code null} if there is no memory limit to derive them from
+	 */
+	static String create(KubernetesDeployerProperties.JvmMemory jvmMemory, Quantity memoryLimit, Quantity cpuLimit) {
+		if (memoryLimit == null) {
+			return null;
+		}
+
+		List<String> options = new ArrayList<>();
+		long heapMebibytes = toBytes(memoryLimit) * jvmMemory.getHeapPercentage() / 100 / (1L << 20);
+		options.add("-Xmx" + heapMebibytes + "m");
+
+		if (StringUtils.hasText(jvmMemory.getMaxMetaspace())) {
+			options.add("-XX:MaxMetaspaceSize=" + jvmMemory.getMaxMetaspace());
+		}
+		if (StringUtils.hasText(jvmMemory.getMaxDirectMemory())) {
+			options.add("-XX:MaxDirectMemorySize=" + jvmMemory.getMaxDirectMemory());
+		}
+
+		if (cpuLimit != null) {
+			BigDecimal cores = toCores(cpuLimit);
+			// the JVM rounds fractional CPU limits up on its own, but older versions ignore the limit entirely
+			options.add("-XX:ActiveProcessorCount=" + Math.max(1, (int) Math.ceil(cores.doubleValue())));
+			if (jvmMemory.isSelectGarbageCollector()) {
+				options.add(cores.compareTo(BigDecimal.valueOf(2)) < 0 ? "-XX:+UseSerialGC" : "-XX:+UseG1GC");
+			}
+		}
+
+		return String.join(" ", options);
+	}
+
+	static long toBytes(Quantity memory) {
+		String value = toString(memory);
+		for (Map.Entry<String, Long> suffix : MEMORY_SUFFIXES.entrySet()) {
+			if (value.endsWith(suffix.getKey())) {
+				return new BigDecimal(value.substring(0, value.length() - suffix.getKey().length()))
+						.multiply(BigDecimal.valueOf(suffix.getValue())).longValue();
+			}
+		}
+		return new BigDecimal(value).longValue();
+	}
+
+	static BigDecimal toCores(Quantity cpu) {
+		String value = toString(cpu);
+		if (value.endsWith("m")) {
+			return new BigDecimal(value.substring(0, value.length() - 1)).movePointLeft(3);
+		}
+		return new BigDecimal(value);
+	}
+
+	private static String toString(Quantity quantity) {
+		return quantity.getAmount() + (quantity.getFormat() != null ? quantity.getFormat() : "");
+	}
+}
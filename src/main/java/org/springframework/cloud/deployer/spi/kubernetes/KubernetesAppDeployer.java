@@ -16,16 +16,26 @@
 
 package org.springframework.cloud.deployer.spi.kubernetes;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.EnvVarBuilder;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaimList;
@@ -47,11 +57,25 @@ import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
 import io.fabric8.kubernetes.api.model.apps.StatefulSetList;
 import io.fabric8.kubernetes.api.model.apps.StatefulSetSpec;
 import io.fabric8.kubernetes.api.model.apps.StatefulSetSpecBuilder;
+import io.fabric8.kubernetes.api.model.autoscaling.v2beta2.HorizontalPodAutoscaler;
+import io.fabric8.kubernetes.api.model.autoscaling.v2beta2.HorizontalPodAutoscalerBuilder;
+import io.fabric8.kubernetes.api.model.autoscaling.v2beta2.HorizontalPodAutoscalerList;
+import io.fabric8.kubernetes.api.model.autoscaling.v2beta2.MetricSpec;
+import io.fabric8.kubernetes.api.model.autoscaling.v2beta2.MetricSpecBuilder;
+import io.fabric8.kubernetes.client.HttpClientAware;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
 import io.fabric8.kubernetes.client.dsl.ScalableResource;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.kubernetes.client.utils.URLUtils;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -80,6 +104,13 @@ import org.springframework.util.StringUtils;
  */
 public class KubernetesAppDeployer extends AbstractKubernetesDeployer implements AppDeployer {
 
+	// set by the StatefulSet controller on Kubernetes 1.28 and later
+	private static final String POD_INDEX_LABEL = "apps.kubernetes.io/pod-index";
+
+	private static final String AUTOSCALING_V2 = "autoscaling/v2";
+
+	private static final String AUTOSCALING_V2BETA2 = "autoscaling/v2beta2";
+
 	protected final Log logger = LogFactory.getLog(getClass().getName());
 
 	@Autowired
@@ -109,12 +140,11 @@ public class KubernetesAppDeployer extends AbstractKubernetesDeployer implements
 				throw new IllegalStateException(String.format("App '%s' is already deployed", appId));
 			}
 
-			String indexedProperty = request.getDeploymentProperties().get(INDEXED_PROPERTY_KEY);
-			boolean indexed = (indexedProperty != null) ? Boolean.valueOf(indexedProperty) : false;
 			logPossibleDownloadResourceMessage(request.getResource());
+			registerImage(request);
 
 			createService(request);
-			if (indexed) {
+			if (isIndexed(request)) {
 				createStatefulSet(request);
 			}
 			else {
@@ -128,6 +158,48 @@ public class KubernetesAppDeployer extends AbstractKubernetesDeployer implements
 		}
 	}
 
+	/**
+	 * Deploy an app and watch its rollout. The future completes once all instances are ready, or at least the
+	 * requested count when an autoscaler may add instances, and fails as soon
+	 * as a pod cannot be pulled, scheduled or started, or the Deployment exceeds its progress deadline.
+	 *
+	 * @param request the deployment request
+	 * @param timeout the time to wait for the instances to become ready
+	 * @return a future completing with the app status, or exceptionally with the failure reason or a
+	 * {@link java.util.concurrent.TimeoutException}
+	 */
+	public CompletableFuture<AppStatus> deployAndAwait(AppDeploymentRequest request, Duration timeout) {
+		String appId = deploy(request);
+		logger.debug(String.format("Awaiting rollout of app: %s", appId));
+
+		AppReadinessBarrier barrier = AppReadinessBarrier.forApp(this, appId, getCountFromRequest(request))
+				.withFailureDetector(PodDiagnostics::getFailureReason);
+		if (this.deploymentPropertiesResolver.getAutoscaler(request.getDeploymentProperties()) != null) {
+			barrier.withAutoscaler();
+		}
+		CompletableFuture<Void> ready = barrier.await(this.client, getScheduler(), timeout);
+
+		if (!isIndexed(request)) {
+			Watch watch = this.client.apps().deployments().withName(appId).watch(new Watcher<Deployment>() {
+				@Override
+				public void eventReceived(Action action, Deployment deployment) {
+					String failureReason = getRolloutFailureReason(deployment);
+					if (failureReason != null) {
+						barrier.fail(failureReason);
+					}
+				}
+
+				@Override
+				public void onClose(KubernetesClientException cause) {
+				}
+			});
+			ready.whenComplete((result, throwable) -> watch.close());
+		}
+
+		// the barrier completes on the watch or scheduler thread, which must not block on the status requests
+		return ready.thenApplyAsync(result -> status(appId), getApiExecutor());
+	}
+
 	@Override
 	public void undeploy(String appId) {
 		logger.debug(String.format("Undeploying app: %s", appId));
@@ -172,31 +244,48 @@ public class KubernetesAppDeployer extends AbstractKubernetesDeployer implements
 
 	@Override
 	public String getLog(String appId) {
-		Map<String, String> selector = new HashMap<>();
-		selector.put(SPRING_APP_KEY, appId);
-		PodList podList = client.pods().withLabels(selector).list();
-		StringBuilder logAppender = new StringBuilder();
-		for (Pod pod : podList.getItems()) {
-
-			if(pod.getSpec().getContainers().size() > 1){
-				for(Container container : pod.getSpec().getContainers()) {
-					if(container.getEnv().stream().anyMatch(envVar -> "SPRING_CLOUD_APPLICATION_GUID".equals(envVar.getName()))) {
-						//find log for this container
-						logAppender.append(this.client.pods()
-												   .withName(pod.getMetadata().getName())
-												   .inContainer(container.getName())
-												   .tailingLines(500).getLog());
-						break;
-					}
+		return getLog(appId, new KubernetesLogOptions());
+	}
 
-				}
-			}
-			else{
-				logAppender.append(this.client.pods().withName(pod.getMetadata().getName()).tailingLines(500).getLog());
-			}
-		}
+	/**
+	 * Fetch the logs of all pods of the given app concurrently.
+	 *
+	 * @param appId the app id
+	 * @param options the log options
+	 * @return the combined app log
+	 */
+	public String getLog(String appId, KubernetesLogOptions options) {
+		return fetchLogs(getAppPods(appId), options);
+	}
 
-		return logAppender.toString();
+	/**
+	 * Fetch the log lines written since the previous call. Pass the continuation token of the returned
+	 * segment to the next call; a {@code null} token returns the default tail of each pod's log.
+	 *
+	 * @param appId the app id
+	 * @param continuationToken the token returned by the previous call, or {@code null}
+	 * @return the new log lines and the token for the next call
+	 */
+	public KubernetesLogSegment getLogSince(String appId, String continuationToken) {
+		return fetchLogsSince(getAppPods(appId), continuationToken);
+	}
+
+	/**
+	 * Stream the logs of all pods of the given app, or of a single pod selected through
+	 * {@link KubernetesLogOptions#withPodName(String)}.
+	 *
+	 * @param appId the app id
+	 * @param options the log options
+	 * @return a reader over the app logs, to be closed by the caller
+	 */
+	public Reader getLogReader(String appId, KubernetesLogOptions options) {
+		return createLogReader(getAppPods(appId), options);
+	}
+
+	private List<Pod> getAppPods(String appId) {
+		Map<String, String> selector = new HashMap<>();
+		selector.put(SPRING_APP_KEY, appId);
+		return client.pods().withLabels(selector).list().getItems();
 	}
 
 	@Override
@@ -204,14 +293,29 @@ public class KubernetesAppDeployer extends AbstractKubernetesDeployer implements
 		String deploymentId = appScaleRequest.getDeploymentId();
 		logger.debug(String.format("Scale app: %s to: %s", deploymentId, appScaleRequest.getCount()));
 
-		ScalableResource scalableResource = this.client.apps().deployments().withName(deploymentId);
-		if (scalableResource.get() == null) {
-			scalableResource = this.client.apps().statefulSets().withName(deploymentId);
-		}
-		if (scalableResource.get() == null) {
-			throw new IllegalStateException(String.format("App '%s' is not deployed", deploymentId));
-		}
-		scalableResource.scale(appScaleRequest.getCount(), true);
+		getScalableResource(deploymentId).scale(appScaleRequest.getCount(), true);
+	}
+
+	/**
+	 * Scale the app without blocking. The returned future completes once exactly the requested number of pods
+	 * are running and ready, as decided by the {@link RunningPhaseDeploymentStateResolver} checks also used
+	 * for the app status.
+	 *
+	 * @param appScaleRequest the scale request
+	 * @param timeout the time to wait for the pods to become ready
+	 * @return a future with the app status, completing exceptionally with a
+	 * {@link java.util.concurrent.TimeoutException} when the pods are not ready in time
+	 */
+	public CompletableFuture<AppStatus> scaleAndAwait(AppScaleRequest appScaleRequest, Duration timeout) {
+		String deploymentId = appScaleRequest.getDeploymentId();
+		logger.debug(String.format("Scale app: %s to: %s and await readiness", deploymentId,
+				appScaleRequest.getCount()));
+
+		getScalableResource(deploymentId).scale(appScaleRequest.getCount());
+
+		return AppReadinessBarrier.forApp(this, deploymentId, appScaleRequest.getCount())
+				.await(this.client, getScheduler(), timeout)
+				.thenApplyAsync(ready -> status(deploymentId), getApiExecutor());
 	}
 
 	@Override
@@ -219,6 +323,74 @@ public class KubernetesAppDeployer extends AbstractKubernetesDeployer implements
 		return super.createRuntimeEnvironmentInfo(AppDeployer.class, this.getClass());
 	}
 
+	/**
+	 * Scale several apps at once. The scale requests are issued concurrently and do not wait for the pods;
+	 * use {@link #scaleAndAwait(AppScaleRequest, Duration)} to wait for readiness.
+	 *
+	 * @param counts the requested instance count keyed by app id
+	 * @return the requested count of each app that was scaled and the failure of each app that was not
+	 */
+	public BatchOperationResult<String, Integer> scaleAll(Map<String, Integer> counts) {
+		logger.debug(String.format("Scale apps: %s", counts));
+
+		Map<String, Callable<Integer>> operations = new LinkedHashMap<>();
+		counts.forEach((appId, count) -> operations.put(appId, () -> {
+			getScalableResource(appId).scale(count);
+			return count;
+		}));
+		return runScaleBatch(operations);
+	}
+
+	/**
+	 * Scale all apps deployed with the given group, as set through {@link AppDeployer#GROUP_PROPERTY_KEY}.
+	 *
+	 * @param groupId the group id
+	 * @param count the requested instance count of each app
+	 * @return the requested count of each app that was scaled and the failure of each app that was not
+	 */
+	public BatchOperationResult<String, Integer> scaleGroup(String groupId, int count) {
+		// the listed workloads are scaled as listed, without looking up their kind again
+		Map<String, Callable<Integer>> operations = new LinkedHashMap<>();
+		for (Deployment deployment : client.apps().deployments().withLabel(SPRING_GROUP_KEY, groupId).list().getItems()) {
+			String appId = deployment.getMetadata().getName();
+			operations.put(appId, () -> {
+				this.client.apps().deployments().withName(appId).scale(count);
+				return count;
+			});
+		}
+		for (StatefulSet statefulSet : client.apps().statefulSets().withLabel(SPRING_GROUP_KEY, groupId).list().getItems()) {
+			String appId = statefulSet.getMetadata().getName();
+			operations.put(appId, () -> {
+				this.client.apps().statefulSets().withName(appId).scale(count);
+				return count;
+			});
+		}
+		logger.debug(String.format("Scale apps of group %s: %s", groupId, operations.keySet()));
+		return runScaleBatch(operations);
+	}
+
+	private BatchOperationResult<String, Integer> runScaleBatch(Map<String, Callable<Integer>> operations) {
+		BatchOperationResult<String, Integer> result = runBatch(operations);
+		result.getFailures().forEach((appId, e) -> logger.error(String.format("Failed to scale app %s", appId), e));
+		return result;
+	}
+
+	// the workload kind is read on every call, an app may have been redeployed as the other kind meanwhile
+	private ScalableResource getScalableResource(String appId) {
+		if (this.client.apps().deployments().withName(appId).get() != null) {
+			return this.client.apps().deployments().withName(appId);
+		}
+		if (this.client.apps().statefulSets().withName(appId).get() != null) {
+			return this.client.apps().statefulSets().withName(appId);
+		}
+		throw new IllegalStateException(String.format("App '%s' is not deployed", appId));
+	}
+
+	private boolean isIndexed(AppDeploymentRequest request) {
+		String indexedProperty = request.getDeploymentProperties().get(INDEXED_PROPERTY_KEY);
+		return (indexedProperty != null) ? Boolean.valueOf(indexedProperty) : false;
+	}
+
 	private Deployment createDeployment(AppDeploymentRequest request) {
 
 		String appId = createDeploymentId(request);
@@ -239,11 +411,28 @@ public class KubernetesAppDeployer extends AbstractKubernetesDeployer implements
 		Deployment d = new DeploymentBuilder().withNewMetadata().withName(appId).withLabels(idMap)
 				.addToLabels(SPRING_MARKER_KEY, SPRING_MARKER_VALUE).addToLabels(deploymentLabels).endMetadata()
 				.withNewSpec().withNewSelector().addToMatchLabels(idMap).endSelector().withReplicas(replicas)
+				.withProgressDeadlineSeconds(this.deploymentPropertiesResolver
+						.getProgressDeadlineSeconds(kubernetesDeployerProperties))
 				.withNewTemplate().withNewMetadata().withLabels(idMap).addToLabels(SPRING_MARKER_KEY, SPRING_MARKER_VALUE)
 				.addToLabels(deploymentLabels).withAnnotations(annotations).endMetadata().withSpec(podSpec).endTemplate()
 				.endSpec().build();
 
-		return client.apps().deployments().create(d);
+		Deployment deployment = client.apps().deployments().create(d);
+		createHorizontalPodAutoscaler(request, "Deployment", idMap, replicas);
+		return deployment;
+	}
+
+	private String getRolloutFailureReason(Deployment deployment) {
+		if (deployment == null || deployment.getStatus() == null || deployment.getStatus().getConditions() == null) {
+			return null;
+		}
+
+		return deployment.getStatus().getConditions().stream()
+				.filter(condition -> "Progressing".equals(condition.getType()))
+				.filter(condition -> "ProgressDeadlineExceeded".equals(condition.getReason()))
+				.map(condition -> condition.getReason() + ": " + condition.getMessage())
+				.findFirst()
+				.orElse(null);
 	}
 
 	private int getCountFromRequest(AppDeploymentRequest request) {
@@ -281,16 +470,7 @@ public class KubernetesAppDeployer extends AbstractKubernetesDeployer implements
 				.endSpec().withNewMetadata().withName(appId).withLabels(idMap)
 				.addToLabels(SPRING_MARKER_KEY, SPRING_MARKER_VALUE).endMetadata();
 
-		PodSpec podSpec = createPodSpec(request);
-
-		podSpec.getVolumes().add(new VolumeBuilder().withName("config").withNewEmptyDir().endEmptyDir().build());
-
-		podSpec.getContainers().get(0).getVolumeMounts()
-			.add(new VolumeMountBuilder().withName("config").withMountPath("/config").build());
-
-		String statefulSetInitContainerImageName = this.deploymentPropertiesResolver.getStatefulSetInitContainerImageName(kubernetesDeployerProperties);
-
-		podSpec.getInitContainers().add(createStatefulSetInitContainer(statefulSetInitContainerImageName));
+		PodSpec podSpec = createStatefulSetPodSpec(request);
 
 		Map<String, String> deploymentLabels=  this.deploymentPropertiesResolver.getDeploymentLabels(request.getDeploymentProperties());
 
@@ -305,6 +485,151 @@ public class KubernetesAppDeployer extends AbstractKubernetesDeployer implements
 				.addToLabels(SPRING_MARKER_KEY, SPRING_MARKER_VALUE).addToLabels(deploymentLabels).endMetadata().withSpec(spec).build();
 
 		client.apps().statefulSets().create(statefulSet);
+		createHorizontalPodAutoscaler(request, "StatefulSet", idMap, replicas);
+	}
+
+	/**
+	 * Create the pod spec of a StatefulSet, which in addition passes the instance index to the app.
+	 *
+	 * @param request the {@link AppDeploymentRequest}
+	 * @return the pod spec
+	 */
+	PodSpec createStatefulSetPodSpec(AppDeploymentRequest request) {
+		Map<String, String> kubernetesDeployerProperties = request.getDeploymentProperties();
+
+		PodSpec podSpec = createPodSpec(request);
+
+		if (this.deploymentPropertiesResolver.getStatefulSetIndexProvider(kubernetesDeployerProperties) ==
+				StatefulSetIndexProvider.downwardApi) {
+			podSpec.getContainers().get(0).getEnv().add(createPodIndexEnvVar("INSTANCE_INDEX"));
+			podSpec.getContainers().get(0).getEnv().add(createPodIndexEnvVar("SPRING_APPLICATION_INDEX"));
+			return podSpec;
+		}
+
+		podSpec.getVolumes().add(new VolumeBuilder().withName("config").withNewEmptyDir().endEmptyDir().build());
+
+		podSpec.getContainers().get(0).getVolumeMounts()
+			.add(new VolumeMountBuilder().withName("config").withMountPath("/config").build());
+
+		String statefulSetInitContainerImageName = this.deploymentPropertiesResolver.getStatefulSetInitContainerImageName(kubernetesDeployerProperties);
+
+		podSpec.getInitContainers().add(createStatefulSetInitContainer(statefulSetInitContainerImageName));
+		applyQosProfileToInitContainers(podSpec, kubernetesDeployerProperties);
+
+		return podSpec;
+	}
+
+	private EnvVar createPodIndexEnvVar(String name) {
+		return new EnvVarBuilder().withName(name)
+				.withNewValueFrom().withNewFieldRef().withFieldPath("metadata.labels['" + POD_INDEX_LABEL + "']")
+				.endFieldRef().endValueFrom()
+				.build();
+	}
+
+	/**
+	 * Create a HorizontalPodAutoscaler for the app workload if the deployment properties configure one. It is
+	 * created through {@code autoscaling/v2}, served since Kubernetes 1.23, and through {@code autoscaling/v2beta2}
+	 * on older clusters.
+	 *
+	 * @param request the {@link AppDeploymentRequest}
+	 * @param kind the kind of the workload to scale
+	 * @param idMap the labels of the app
+	 * @param replicas the initial replica count, used as the lower limit unless configured
+	 */
+	protected void createHorizontalPodAutoscaler(AppDeploymentRequest request, String kind, Map<String, String> idMap,
+			int replicas) {
+		KubernetesDeployerProperties.Autoscaler autoscaler =
+				this.deploymentPropertiesResolver.getAutoscaler(request.getDeploymentProperties());
+		if (autoscaler == null) {
+			return;
+		}
+
+		String appId = createDeploymentId(request);
+		int minReplicas = (autoscaler.getMinReplicas() != null) ? autoscaler.getMinReplicas() :
+				Math.min(replicas, autoscaler.getMaxReplicas());
+
+		List<MetricSpec> metrics = new ArrayList<>();
+		if (autoscaler.getCpuUtilization() != null) {
+			metrics.add(createResourceMetric("cpu", autoscaler.getCpuUtilization()));
+		}
+		if (autoscaler.getMemoryUtilization() != null) {
+			metrics.add(createResourceMetric("memory", autoscaler.getMemoryUtilization()));
+		}
+		for (KubernetesDeployerProperties.CustomMetric customMetric : autoscaler.getCustomMetrics()) {
+			metrics.add(new MetricSpecBuilder().withType("Pods")
+					.withNewPods()
+					.withNewMetric().withName(customMetric.getName()).endMetric()
+					.withNewTarget().withType("AverageValue")
+					.withAverageValue(new Quantity(customMetric.getTargetAverageValue())).endTarget()
+					.endPods()
+					.build());
+		}
+
+		logger.debug(String.format("Creating HorizontalPodAutoscaler: %s with %d to %d replicas", appId, minReplicas,
+				autoscaler.getMaxReplicas()));
+
+		HorizontalPodAutoscaler horizontalPodAutoscaler = new HorizontalPodAutoscalerBuilder()
+				.withNewMetadata().withName(appId).withLabels(idMap)
+				.addToLabels(SPRING_MARKER_KEY, SPRING_MARKER_VALUE).endMetadata()
+				.withNewSpec()
+				.withNewScaleTargetRef().withApiVersion("apps/v1").withKind(kind).withName(appId).endScaleTargetRef()
+				.withMinReplicas(minReplicas)
+				.withMaxReplicas(autoscaler.getMaxReplicas())
+				.withMetrics(metrics)
+				.endSpec()
+				.build();
+
+		// the v2beta2 model of the client has the same schema as autoscaling/v2, which has no client API
+		horizontalPodAutoscaler.setApiVersion(AUTOSCALING_V2);
+		Request createRequest = new Request.Builder().url(getAutoscalingV2Url().build())
+				.post(RequestBody.create(MediaType.parse("application/json"),
+						Serialization.asJson(horizontalPodAutoscaler)))
+				.build();
+		if (!executeAutoscalingV2Request(createRequest, "create the HorizontalPodAutoscaler " + appId)) {
+			horizontalPodAutoscaler.setApiVersion(AUTOSCALING_V2BETA2);
+			client.autoscaling().v2beta2().horizontalPodAutoscalers().create(horizontalPodAutoscaler);
+		}
+	}
+
+	private HttpUrl.Builder getAutoscalingV2Url() {
+		return HttpUrl.parse(URLUtils.join(client.getMasterUrl().toString(), "apis", "autoscaling", "v2",
+				"namespaces", client.getNamespace(), "horizontalpodautoscalers")).newBuilder();
+	}
+
+	/**
+	 * Send a request for the {@code autoscaling/v2} HorizontalPodAutoscalers.
+	 *
+	 * @param request the request
+	 * @param action describes the request for the failure message
+	 * @return {@code false} if the cluster does not serve {@code autoscaling/v2} or the client cannot send raw
+	 * requests, so that the caller can fall back to {@code autoscaling/v2beta2}
+	 */
+	private boolean executeAutoscalingV2Request(Request request, String action) {
+		if (!(client instanceof HttpClientAware)) {
+			return false;
+		}
+		try (Response response = ((HttpClientAware) client).getHttpClient().newCall(request).execute()) {
+			if (response.code() == 404) {
+				logger.debug(String.format("autoscaling/v2 is not served, falling back to %s", AUTOSCALING_V2BETA2));
+				return false;
+			}
+			if (!response.isSuccessful()) {
+				throw new KubernetesClientException(String.format("Failed to %s: %d %s", action, response.code(),
+						response.message()), response.code(), null);
+			}
+			return true;
+		}
+		catch (IOException e) {
+			throw new KubernetesClientException(String.format("Failed to %s", action), e);
+		}
+	}
+
+	private MetricSpec createResourceMetric(String resourceName, int averageUtilization) {
+		return new MetricSpecBuilder().withType("Resource")
+				.withNewResource().withName(resourceName)
+				.withNewTarget().withType("Utilization").withAverageUtilization(averageUtilization).endTarget()
+				.endResource()
+				.build();
 	}
 
 	protected void createService(AppDeploymentRequest request) {
@@ -485,6 +810,7 @@ public class KubernetesAppDeployer extends AbstractKubernetesDeployer implements
 
 		waitForLoadBalancerReady(labels);
 		deleteService(labels);
+		deleteHorizontalPodAutoscaler(labels);
 		deleteDeployment(labels);
 		deleteStatefulSet(labels);
 		deletePod(labels);
@@ -511,6 +837,29 @@ public class KubernetesAppDeployer extends AbstractKubernetesDeployer implements
 		}
 	}
 
+	private void deleteHorizontalPodAutoscaler(Map<String, String> labels) {
+		String labelSelector = labels.entrySet().stream()
+				.map(label -> label.getKey() + "=" + label.getValue())
+				.collect(Collectors.joining(","));
+		Request deleteRequest = new Request.Builder()
+				.url(getAutoscalingV2Url().addQueryParameter("labelSelector", labelSelector).build())
+				.delete()
+				.build();
+		if (executeAutoscalingV2Request(deleteRequest, "delete the HorizontalPodAutoscalers matching " + labelSelector)) {
+			logger.debug(String.format("HorizontalPodAutoscaler deleted for: %s", labels));
+			return;
+		}
+
+		FilterWatchListDeletable<HorizontalPodAutoscaler, HorizontalPodAutoscalerList, Boolean, Watch,
+				Watcher<HorizontalPodAutoscaler>> hpasToDelete = client.autoscaling().v2beta2()
+				.horizontalPodAutoscalers().withLabels(labels);
+
+		if (hpasToDelete != null && hpasToDelete.list().getItems() != null) {
+			boolean hpasDeleted = hpasToDelete.delete();
+			logger.debug(String.format("HorizontalPodAutoscaler deleted for: %s - %b", labels, hpasDeleted));
+		}
+	}
+
 	private void deleteStatefulSet(Map<String, String> labels) {
 		FilterWatchListDeletable<StatefulSet, StatefulSetList, Boolean, Watch, Watcher<StatefulSet>> ssToDelete =
 				client.apps().statefulSets().withLabels(labels);
@@ -17,7 +17,9 @@
 package org.springframework.cloud.deployer.spi.kubernetes;
 
 import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Event;
 import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodCondition;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServicePort;
 import org.apache.commons.logging.Log;
@@ -25,9 +27,13 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.cloud.deployer.spi.app.AppInstanceStatus;
 import org.springframework.cloud.deployer.spi.app.DeploymentState;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Represents the status of a module.
@@ -45,6 +51,7 @@ public class KubernetesAppInstanceStatus implements AppInstanceStatus {
 	private KubernetesDeployerProperties properties;
 	private ContainerStatus containerStatus;
 	private RunningPhaseDeploymentStateResolver runningPhaseDeploymentStateResolver;
+	private List<Event> warningEvents = Collections.emptyList();
 
 	@Deprecated
 	public KubernetesAppInstanceStatus(Pod pod, Service service, KubernetesDeployerProperties properties) {
@@ -79,6 +86,15 @@ public class KubernetesAppInstanceStatus implements AppInstanceStatus {
 		this.runningPhaseDeploymentStateResolver = runningPhaseDeploymentStateResolver;
 	}
 
+	/**
+	 * Set the warning events of the pod, reported in the {@code pod.events} attribute.
+	 *
+	 * @param warningEvents the warning events
+	 */
+	public void setWarningEvents(List<Event> warningEvents) {
+		this.warningEvents = warningEvents;
+	}
+
 	@Override
 	public String getId() {
 		return pod == null ? "N/A" : pod.getMetadata().getName();
@@ -86,6 +102,10 @@ public class KubernetesAppInstanceStatus implements AppInstanceStatus {
 
 	@Override
 	public DeploymentState getState() {
+		if (pod != null && containerStatus == null && PodDiagnostics.getPodScheduledCondition(pod) != null) {
+			// a pod waiting to be scheduled has no container status yet
+			return mapPendingState();
+		}
 		return pod != null && containerStatus != null ? mapState() : DeploymentState.unknown;
 	}
 
@@ -98,7 +118,7 @@ public class KubernetesAppInstanceStatus implements AppInstanceStatus {
 		switch (pod.getStatus().getPhase()) {
 
 		case "Pending":
-			return DeploymentState.deploying;
+			return mapPendingState();
 
 		// We only report a module as running if the container is also ready to service requests.
 		// We also implement the Readiness check as part of the container to ensure ready means
@@ -118,6 +138,24 @@ public class KubernetesAppInstanceStatus implements AppInstanceStatus {
 		}
 	}
 
+	// only a pod that cannot be scheduled times out, a scheduled pod may still be pulling a large image
+	private DeploymentState mapPendingState() {
+		PodCondition scheduled = PodDiagnostics.getPodScheduledCondition(pod);
+		if (properties.getPendingTimeout() != null && scheduled != null && scheduled.getLastTransitionTime() != null) {
+			try {
+				Instant unscheduledSince = Instant.parse(scheduled.getLastTransitionTime());
+				if (unscheduledSince.plusSeconds(properties.getPendingTimeout()).isBefore(Instant.now())) {
+					return DeploymentState.failed;
+				}
+			}
+			catch (DateTimeParseException e) {
+				logger.debug(String.format("%s - Invalid PodScheduled transition time [ %s ]",
+					pod.getMetadata().getName(), scheduled.getLastTransitionTime()));
+			}
+		}
+		return DeploymentState.deploying;
+	}
+
 	@Override
 	public Map<String, String> getAttributes() {
 		Map<String, String> result = new HashMap<>();
@@ -133,6 +171,20 @@ public class KubernetesAppInstanceStatus implements AppInstanceStatus {
 			result.put(AbstractKubernetesDeployer.SPRING_DEPLOYMENT_KEY.replace('-', '.'),
 				pod.getMetadata().getLabels().get(AbstractKubernetesDeployer.SPRING_DEPLOYMENT_KEY));
 			result.put("guid", pod.getMetadata().getUid());
+			if (pod.getStatus().getQosClass() != null) {
+				result.put("pod.qosClass", pod.getStatus().getQosClass());
+			}
+			PodCondition scheduled = PodDiagnostics.getPodScheduledCondition(pod);
+			if (scheduled != null) {
+				result.put("pod.scheduled.reason", scheduled.getReason());
+				result.put("pod.scheduled.message", scheduled.getMessage());
+			}
+			if (!warningEvents.isEmpty()) {
+				result.put("pod.events", warningEvents.stream()
+					.map(event -> event.getReason() + ": " + event.getMessage())
+					.distinct()
+					.collect(Collectors.joining("; ")));
+			}
 		}
 		if (service != null) {
 			result.put("service.name", service.getMetadata().getName());
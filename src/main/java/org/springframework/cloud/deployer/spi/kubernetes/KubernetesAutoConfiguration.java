@@ -16,11 +16,20 @@
 
 package org.springframework.cloud.deployer.spi.kubernetes;
 
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import io.fabric8.kubernetes.client.KubernetesClient;
 
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.deployer.spi.app.AppDeployer;
 import org.springframework.cloud.deployer.spi.task.TaskLauncher;
@@ -39,7 +48,7 @@ import org.springframework.core.Ordered;
 @Configuration
 @EnableConfigurationProperties({KubernetesDeployerProperties.class, KubernetesTaskLauncherProperties.class})
 @AutoConfigureOrder(Ordered.HIGHEST_PRECEDENCE)
-public class KubernetesAutoConfiguration {
+public class KubernetesAutoConfiguration implements DisposableBean {
 	
 	@Autowired
 	private KubernetesDeployerProperties deployerProperties;
@@ -47,18 +56,67 @@ public class KubernetesAutoConfiguration {
 	@Autowired
 	private KubernetesTaskLauncherProperties taskLauncherProperties;
 
+	private static final String DEFAULT_CLUSTER = "default";
+
+	private Map<String, KubernetesClient> clusterClients;
+
+	private Map<String, ImagePrePuller> imagePrePullers;
+
 	@Bean
 	@ConditionalOnMissingBean(AppDeployer.class)
 	public AppDeployer appDeployer(KubernetesClient kubernetesClient,
 	                               ContainerFactory containerFactory) {
-		return new KubernetesAppDeployer(deployerProperties, kubernetesClient, containerFactory);
+		if (!deployerProperties.getClusters().isEmpty()) {
+			MultiClusterKubernetesAppDeployer appDeployer = new MultiClusterKubernetesAppDeployer(deployerProperties,
+					getClusterClients(), containerFactory);
+			appDeployer.setImagePrePullers(getImagePrePullers(kubernetesClient));
+			return appDeployer;
+		}
+		KubernetesAppDeployer appDeployer = new KubernetesAppDeployer(deployerProperties, kubernetesClient,
+				containerFactory);
+		appDeployer.setImagePrePuller(getImagePrePullers(kubernetesClient).get(DEFAULT_CLUSTER));
+		return appDeployer;
 	}
 
 	@Bean
 	@ConditionalOnMissingBean(TaskLauncher.class)
 	public TaskLauncher taskDeployer(KubernetesClient kubernetesClient,
-	                                 ContainerFactory containerFactory) {
-		return new KubernetesTaskLauncher(deployerProperties, taskLauncherProperties, kubernetesClient, containerFactory);
+	                                 ContainerFactory containerFactory,
+	                                 ObjectProvider<TaskLogArchive> taskLogArchive) {
+		if (!deployerProperties.getClusters().isEmpty()) {
+			MultiClusterKubernetesTaskLauncher taskLauncher = new MultiClusterKubernetesTaskLauncher(deployerProperties,
+					taskLauncherProperties, getClusterClients(), containerFactory);
+			taskLauncher.setTaskLogArchive(taskLogArchive.getIfAvailable());
+			taskLauncher.setImagePrePullers(getImagePrePullers(kubernetesClient));
+			return taskLauncher;
+		}
+		KubernetesTaskLauncher taskLauncher = new KubernetesTaskLauncher(deployerProperties, taskLauncherProperties,
+				kubernetesClient, containerFactory);
+		taskLauncher.setTaskLogArchive(taskLogArchive.getIfAvailable());
+		taskLauncher.setImagePrePuller(getImagePrePullers(kubernetesClient).get(DEFAULT_CLUSTER));
+		return taskLauncher;
+	}
+
+	@Bean(initMethod = "start", destroyMethod = "close")
+	@ConditionalOnMissingBean(TaskReaper.class)
+	@ConditionalOnProperty(prefix = "spring.cloud.deployer.kubernetes.reaper", name = "enabled", havingValue = "true")
+	public TaskReaper taskReaper(TaskLauncher taskLauncher) {
+		Collection<KubernetesTaskLauncher> taskLaunchers = Collections.emptyList();
+		if (taskLauncher instanceof MultiClusterKubernetesTaskLauncher) {
+			taskLaunchers = ((MultiClusterKubernetesTaskLauncher) taskLauncher).getDelegates();
+		}
+		else if (taskLauncher instanceof KubernetesTaskLauncher) {
+			taskLaunchers = Collections.singletonList((KubernetesTaskLauncher) taskLauncher);
+		}
+		return new TaskReaper(taskLaunchers, this.taskLauncherProperties.getReaper());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(TaskLogArchive.class)
+	@ConditionalOnProperty(prefix = "spring.cloud.deployer.kubernetes.log-archive", name = "enabled", havingValue = "true")
+	public TaskLogArchive taskLogArchive() {
+		KubernetesTaskLauncherProperties.LogArchive logArchive = taskLauncherProperties.getLogArchive();
+		return new FileSystemTaskLogArchive(Paths.get(logArchive.getDirectory()), logArchive.getMaxSize().toBytes());
 	}
 
 	@Bean
@@ -72,4 +130,40 @@ public class KubernetesAutoConfiguration {
 		return new DefaultContainerFactory(deployerProperties);
 	}
 
+	@Override
+	public synchronized void destroy() {
+		if (this.imagePrePullers != null) {
+			this.imagePrePullers.values().forEach(ImagePrePuller::close);
+		}
+		// the per-cluster clients are created here, the primary client is closed by its own bean
+		if (this.clusterClients != null) {
+			this.clusterClients.values().forEach(KubernetesClient::close);
+		}
+	}
+
+	// the app deployer and the task launcher share one client per named cluster
+	private synchronized Map<String, KubernetesClient> getClusterClients() {
+		if (this.clusterClients == null) {
+			this.clusterClients = KubernetesClientFactory.getKubernetesClients(this.deployerProperties);
+		}
+		return this.clusterClients;
+	}
+
+	// one pre-pull DaemonSet per cluster, shared by the app deployer and the task launcher
+	private synchronized Map<String, ImagePrePuller> getImagePrePullers(KubernetesClient kubernetesClient) {
+		if (this.imagePrePullers == null) {
+			this.imagePrePullers = new LinkedHashMap<>();
+			if (this.deployerProperties.getImagePrePull().isEnabled()) {
+				Map<String, KubernetesClient> clients = this.deployerProperties.getClusters().isEmpty() ?
+						Collections.singletonMap(DEFAULT_CLUSTER, kubernetesClient) : getClusterClients();
+				clients.forEach((clusterName, client) -> {
+					ImagePrePuller imagePrePuller = new ImagePrePuller(client, this.deployerProperties.getImagePrePull());
+					imagePrePuller.start();
+					this.imagePrePullers.put(clusterName, imagePrePuller);
+				});
+			}
+		}
+		return this.imagePrePullers;
+	}
+
 }
@@ -16,6 +16,9 @@
 
 package org.springframework.cloud.deployer.spi.kubernetes;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.DefaultKubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -38,4 +41,27 @@ public class KubernetesClientFactory {
 
 		return new DefaultKubernetesClient(config);
 	}
+
+	/**
+	 * Create a client for each of the named clusters in the deployer properties.
+	 *
+	 * @param kubernetesDeployerProperties the deployer properties
+	 * @return the clients keyed by cluster name, in configuration order
+	 */
+	public static Map<String, KubernetesClient> getKubernetesClients(
+			KubernetesDeployerProperties kubernetesDeployerProperties) {
+		Map<String, KubernetesClient> clients = new LinkedHashMap<>();
+
+		kubernetesDeployerProperties.getClusters().forEach((name, cluster) -> {
+			Config config = cluster.getFabric8();
+
+			if (cluster.getNamespace() != null) {
+				config.setNamespace(cluster.getNamespace());
+			}
+
+			clients.put(name, new DefaultKubernetesClient(config));
+		});
+
+		return clients;
+	}
 }
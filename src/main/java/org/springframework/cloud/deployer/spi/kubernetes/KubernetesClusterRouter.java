@@ -0,0 +1,170 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.deployer.spi.kubernetes.support.PropertyParserUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Routes requests to the per-cluster delegates of a multi-cluster deployer. New deployments are
+ * placed with a {@link ClusterPlacementStrategy} and recorded in an ID-to-cluster index so that
+ * later requests for the same ID reach the owning cluster. IDs missing from the index, e.g. after a
+ * restart, are resolved by asking each cluster in turn.
+ *
+ * @param <T> the type of the per-cluster delegate
+ */
+class KubernetesClusterRouter<T> {
+	static final String CLUSTER_PROPERTY_KEY = KubernetesDeployerProperties.KUBERNETES_DEPLOYER_PROPERTIES_PREFIX
+			+ ".cluster";
+
+	private final Log logger = LogFactory.getLog(getClass().getName());
+
+	private final String clusterPropertyKey;
+
+	private final Map<String, T> delegates;
+
+	private final List<String> clusterNames;
+
+	private final ClusterPlacementStrategy placementStrategy;
+
+	private final Map<String, String> clusterIndex = new ConcurrentHashMap<>();
+
+	KubernetesClusterRouter(String propertyPrefix, Map<String, T> delegates,
+			ClusterPlacementStrategy placementStrategy) {
+		Assert.notEmpty(delegates, "At least one cluster must be configured");
+		Assert.notNull(placementStrategy, "ClusterPlacementStrategy must not be null");
+		this.clusterPropertyKey = propertyPrefix + ".cluster";
+		this.delegates = new LinkedHashMap<>(delegates);
+		this.clusterNames = new ArrayList<>(delegates.keySet());
+		this.placementStrategy = placementStrategy;
+	}
+
+	/**
+	 * Select the cluster for a new deployment. A cluster named by the {@code cluster} deployment property
+	 * takes precedence over the placement strategy.
+	 *
+	 * @param deploymentProperties the deployment properties of the request
+	 * @param load returns the current load of a cluster delegate
+	 * @return the name of the selected cluster
+	 */
+	String place(Map<String, String> deploymentProperties, ToIntFunction<T> load) {
+		String pinnedCluster = PropertyParserUtils.getDeploymentPropertyValue(deploymentProperties,
+				this.clusterPropertyKey);
+
+		String clusterName;
+		if (StringUtils.hasText(pinnedCluster)) {
+			if (!this.delegates.containsKey(pinnedCluster)) {
+				throw new IllegalArgumentException(String.format("Unknown cluster '%s', expected one of %s",
+						pinnedCluster, this.clusterNames));
+			}
+			clusterName = pinnedCluster;
+		}
+		else {
+			clusterName = this.placementStrategy.select(this.clusterNames,
+					name -> load.applyAsInt(this.delegates.get(name)));
+		}
+
+		logger.debug(String.format("Placing deployment on cluster: %s", clusterName));
+		return clusterName;
+	}
+
+	/**
+	 * Select the cluster for deploying the given ID. An ID that is already deployed stays on its owning
+	 * cluster, so that redeploying reaches the existing deployment instead of creating a second copy
+	 * elsewhere. Other IDs are placed as new deployments.
+	 *
+	 * @param id the app ID
+	 * @param deploymentProperties the deployment properties of the request
+	 * @param owns tests whether a delegate knows about the ID
+	 * @param load returns the current load of a cluster delegate
+	 * @return the name of the selected cluster
+	 * @throws IllegalStateException if the ID is deployed on a cluster other than the pinned one
+	 */
+	String place(String id, Map<String, String> deploymentProperties, Predicate<T> owns, ToIntFunction<T> load) {
+		String owner = findOwner(id, owns);
+		if (owner == null) {
+			return place(deploymentProperties, load);
+		}
+
+		String pinnedCluster = PropertyParserUtils.getDeploymentPropertyValue(deploymentProperties,
+				this.clusterPropertyKey);
+		if (StringUtils.hasText(pinnedCluster) && !pinnedCluster.equals(owner)) {
+			throw new IllegalStateException(String.format("'%s' is already deployed on cluster '%s', not '%s'",
+					id, owner, pinnedCluster));
+		}
+		logger.debug(String.format("Routing deployment of %s to its owning cluster: %s", id, owner));
+		return owner;
+	}
+
+	T getDelegate(String clusterName) {
+		return this.delegates.get(clusterName);
+	}
+
+	Collection<T> getDelegates() {
+		return this.delegates.values();
+	}
+
+	void register(String id, String clusterName) {
+		this.clusterIndex.put(id, clusterName);
+	}
+
+	void unregister(String id) {
+		this.clusterIndex.remove(id);
+	}
+
+	/**
+	 * Return the delegate of the cluster owning the given ID. Falls back to the first configured cluster
+	 * when no cluster claims the ID so that the delegate reports the missing deployment as usual.
+	 *
+	 * @param id the app, task or schedule ID
+	 * @param owns tests whether a delegate knows about the ID
+	 * @return the owning delegate
+	 */
+	T route(String id, Predicate<T> owns) {
+		String clusterName = findOwner(id, owns);
+		return this.delegates.get(clusterName != null ? clusterName : this.clusterNames.get(0));
+	}
+
+	private String findOwner(String id, Predicate<T> owns) {
+		String clusterName = this.clusterIndex.get(id);
+
+		if (clusterName == null) {
+			for (String candidate : this.clusterNames) {
+				if (owns.test(this.delegates.get(candidate))) {
+					logger.debug(String.format("Resolved cluster %s for: %s", candidate, id));
+					this.clusterIndex.put(id, candidate);
+					clusterName = candidate;
+					break;
+				}
+			}
+		}
+		return clusterName;
+	}
+}
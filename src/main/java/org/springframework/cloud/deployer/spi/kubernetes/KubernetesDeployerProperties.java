@@ -16,8 +16,12 @@
 
 package org.springframework.cloud.deployer.spi.kubernetes;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import io.fabric8.kubernetes.api.model.NodeAffinity;
 import io.fabric8.kubernetes.api.model.PodAffinity;
@@ -276,6 +280,52 @@ public class KubernetesDeployerProperties {
 		}
 	}
 
+	public static class TopologySpreadConstraint {
+
+		private Integer maxSkew = 1;
+
+		private String topologyKey;
+
+		private String whenUnsatisfiable = "DoNotSchedule";
+
+		/**
+		 * Labels of the pods to spread. Defaults to the id labels of the app.
+		 */
+		private Map<String, String> labelSelector = new LinkedHashMap<>();
+
+		public Integer getMaxSkew() {
+			return maxSkew;
+		}
+
+		public void setMaxSkew(Integer maxSkew) {
+			this.maxSkew = maxSkew;
+		}
+
+		public String getTopologyKey() {
+			return topologyKey;
+		}
+
+		public void setTopologyKey(String topologyKey) {
+			this.topologyKey = topologyKey;
+		}
+
+		public String getWhenUnsatisfiable() {
+			return whenUnsatisfiable;
+		}
+
+		public void setWhenUnsatisfiable(String whenUnsatisfiable) {
+			this.whenUnsatisfiable = whenUnsatisfiable;
+		}
+
+		public Map<String, String> getLabelSelector() {
+			return labelSelector;
+		}
+
+		public void setLabelSelector(Map<String, String> labelSelector) {
+			this.labelSelector = labelSelector;
+		}
+	}
+
 	static class KeyRef {
 		private String envVarName;
 		private String dataKey;
@@ -372,6 +422,302 @@ public class KubernetesDeployerProperties {
 		}
 	}
 
+	/**
+	 * Encapsulates the JVM memory settings derived from the container memory limit and passed to the app
+	 * in {@code JAVA_TOOL_OPTIONS}.
+	 */
+	public static class JvmMemory {
+
+		/**
+		 * Whether to derive JAVA_TOOL_OPTIONS. Never overrides JAVA_TOOL_OPTIONS set by the user.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Percentage of the container memory limit to use for the maximum heap size.
+		 */
+		private int heapPercentage = 70;
+
+		/**
+		 * Maximum metaspace size in JVM notation, e.g. 128m.
+		 */
+		private String maxMetaspace;
+
+		/**
+		 * Maximum direct memory size in JVM notation, e.g. 64m.
+		 */
+		private String maxDirectMemory;
+
+		/**
+		 * Whether to select the garbage collector from the CPU limit: the serial collector below two CPUs,
+		 * G1 otherwise.
+		 */
+		private boolean selectGarbageCollector = true;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getHeapPercentage() {
+			return heapPercentage;
+		}
+
+		public void setHeapPercentage(int heapPercentage) {
+			this.heapPercentage = heapPercentage;
+		}
+
+		public String getMaxMetaspace() {
+			return maxMetaspace;
+		}
+
+		public void setMaxMetaspace(String maxMetaspace) {
+			this.maxMetaspace = maxMetaspace;
+		}
+
+		public String getMaxDirectMemory() {
+			return maxDirectMemory;
+		}
+
+		public void setMaxDirectMemory(String maxDirectMemory) {
+			this.maxDirectMemory = maxDirectMemory;
+		}
+
+		public boolean isSelectGarbageCollector() {
+			return selectGarbageCollector;
+		}
+
+		public void setSelectGarbageCollector(boolean selectGarbageCollector) {
+			this.selectGarbageCollector = selectGarbageCollector;
+		}
+	}
+
+	/**
+	 * Encapsulates the HorizontalPodAutoscaler settings of an app. An autoscaler is only created when
+	 * {@code maxReplicas} is set.
+	 */
+	public static class Autoscaler {
+
+		/**
+		 * The lower replica limit. Defaults to the app instance count.
+		 */
+		private Integer minReplicas;
+
+		/**
+		 * The upper replica limit.
+		 */
+		private Integer maxReplicas;
+
+		/**
+		 * Target average CPU utilization in percent of the requested CPU.
+		 */
+		private Integer cpuUtilization;
+
+		/**
+		 * Target average memory utilization in percent of the requested memory.
+		 */
+		private Integer memoryUtilization;
+
+		/**
+		 * Targets for custom per-pod metrics.
+		 */
+		private List<CustomMetric> customMetrics = new ArrayList<>();
+
+		public Integer getMinReplicas() {
+			return minReplicas;
+		}
+
+		public void setMinReplicas(Integer minReplicas) {
+			this.minReplicas = minReplicas;
+		}
+
+		public Integer getMaxReplicas() {
+			return maxReplicas;
+		}
+
+		public void setMaxReplicas(Integer maxReplicas) {
+			this.maxReplicas = maxReplicas;
+		}
+
+		public Integer getCpuUtilization() {
+			return cpuUtilization;
+		}
+
+		public void setCpuUtilization(Integer cpuUtilization) {
+			this.cpuUtilization = cpuUtilization;
+		}
+
+		public Integer getMemoryUtilization() {
+			return memoryUtilization;
+		}
+
+		public void setMemoryUtilization(Integer memoryUtilization) {
+			this.memoryUtilization = memoryUtilization;
+		}
+
+		public List<CustomMetric> getCustomMetrics() {
+			return customMetrics;
+		}
+
+		public void setCustomMetrics(List<CustomMetric> customMetrics) {
+			this.customMetrics = customMetrics;
+		}
+	}
+
+	public static class CustomMetric {
+		private String name;
+		private String targetAverageValue;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String getTargetAverageValue() {
+			return targetAverageValue;
+		}
+
+		public void setTargetAverageValue(String targetAverageValue) {
+			this.targetAverageValue = targetAverageValue;
+		}
+	}
+
+	/**
+	 * Encapsulates the settings of the image pre-pull DaemonSet.
+	 */
+	public static class ImagePrePull {
+
+		/**
+		 * Whether to pre-pull the images of deployed apps and launched tasks on every node.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Images to always pre-pull, regardless of use.
+		 */
+		private List<String> images = new ArrayList<>();
+
+		/**
+		 * How long an image is kept on the nodes after it was last deployed or launched.
+		 */
+		private Duration retention = Duration.ofHours(24);
+
+		/**
+		 * How often expired images are removed from the DaemonSet.
+		 */
+		private Duration syncInterval = Duration.ofMinutes(10);
+
+		/**
+		 * The command the pre-pull containers run, which must keep them running. The default runs the sleep
+		 * binary copied from the no-op image, so pre-pulled images need neither a shell nor any binary of their
+		 * own.
+		 */
+		private List<String> command = new ArrayList<>(Arrays.asList("/prepull/sleep", "2147483647"));
+
+		/**
+		 * The image whose statically linked /bin/sleep is copied to /prepull/sleep in a volume shared by the
+		 * pre-pull containers.
+		 */
+		private String noopImage = "busybox:1.32";
+
+		/**
+		 * The name of the DaemonSet.
+		 */
+		private String daemonSetName = "spring-cloud-deployer-image-prepuller";
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public List<String> getImages() {
+			return images;
+		}
+
+		public void setImages(List<String> images) {
+			this.images = images;
+		}
+
+		public Duration getRetention() {
+			return retention;
+		}
+
+		public void setRetention(Duration retention) {
+			this.retention = retention;
+		}
+
+		public Duration getSyncInterval() {
+			return syncInterval;
+		}
+
+		public void setSyncInterval(Duration syncInterval) {
+			this.syncInterval = syncInterval;
+		}
+
+		public List<String> getCommand() {
+			return command;
+		}
+
+		public void setCommand(List<String> command) {
+			this.command = command;
+		}
+
+		public String getNoopImage() {
+			return noopImage;
+		}
+
+		public void setNoopImage(String noopImage) {
+			this.noopImage = noopImage;
+		}
+
+		public String getDaemonSetName() {
+			return daemonSetName;
+		}
+
+		public void setDaemonSetName(String daemonSetName) {
+			this.daemonSetName = daemonSetName;
+		}
+	}
+
+	/**
+	 * Encapsulates the connection settings of a named cluster used in multi-cluster mode.
+	 */
+	public static class Cluster {
+
+		/**
+		 * Namespace to use in this cluster.
+		 */
+		private String namespace;
+
+		@NestedConfigurationProperty
+		private Config fabric8 = Config.autoConfigure(null);
+
+		public String getNamespace() {
+			return namespace;
+		}
+
+		public void setNamespace(String namespace) {
+			this.namespace = namespace;
+		}
+
+		public Config getFabric8() {
+			return fabric8;
+		}
+
+		public void setFabric8(Config fabric8) {
+			this.fabric8 = fabric8;
+		}
+	}
+
 
 	/**
 	 * Name of the environment variable that can define the Kubernetes namespace to use.
@@ -452,6 +798,63 @@ public class KubernetesDeployerProperties {
 	 */
 	private Integer readinessProbePort = null;
 
+	/**
+	 * Number of consecutive failed liveness checks before the app container is restarted.
+	 * Defaults to the Kubernetes default when not set.
+	 */
+	private Integer livenessProbeFailureThreshold;
+
+	/**
+	 * Number of consecutive successful readiness checks before the app container is considered ready again
+	 * after a failure. Defaults to the Kubernetes default when not set.
+	 */
+	private Integer readinessProbeSuccessThreshold;
+
+	/**
+	 * Number of consecutive failed readiness checks before the app container is marked unready.
+	 * Defaults to the Kubernetes default when not set.
+	 */
+	private Integer readinessProbeFailureThreshold;
+
+	/**
+	 * The mechanism probes use to check the app container. Can be overridden per app and per probe
+	 * through the probeType and livenessProbeType, readinessProbeType or startupProbeType deployment properties.
+	 */
+	private ProbeType probeType = ProbeType.http;
+
+	/**
+	 * Path that app container has to respond to for the startup check. The startup probe is only created
+	 * when a path is set, either here or through the startupProbePath deployment property, or when the
+	 * startupProbeType deployment property is set.
+	 */
+	private String startupProbePath;
+
+	/**
+	 * Port that app container has to respond on for the startup check.
+	 */
+	private Integer startupProbePort = null;
+
+	/**
+	 * Delay in seconds when the startup check of the app container should start.
+	 */
+	private int startupProbeDelay = 0;
+
+	/**
+	 * Period in seconds to perform the startup check of the app container.
+	 */
+	private int startupProbePeriod = 10;
+
+	/**
+	 * Timeout in seconds that the app container has to respond during the startup check.
+	 */
+	private int startupProbeTimeout = 2;
+
+	/**
+	 * Number of failed startup checks before the app container is restarted. Together with the period this
+	 * bounds the startup time, while liveness checks only begin once the startup check succeeded.
+	 */
+	private int startupProbeFailureThreshold = 30;
+
 	/**
 	 * The secret name containing the credentials to use when accessing secured probe endpoints.
 	 */
@@ -467,11 +870,28 @@ public class KubernetesDeployerProperties {
 	 */
 	private RequestsResources requests = new RequestsResources();
 
+	/**
+	 * The quality of service class to derive consistent CPU and memory requests and limits for.
+	 * Requests and limits are used as configured when not set.
+	 */
+	private QosProfile qosProfile;
+
+	/**
+	 * Whether the app container needs exclusive CPU cores from the kubelet static CPU manager policy.
+	 * Requires the guaranteed QoS profile with a whole number of CPUs.
+	 */
+	private boolean cpuPinning = false;
+
 	/**
 	 * Tolerations to allocate for a Pod.
 	 */
 	private List<Toleration> tolerations = new ArrayList<>();
 
+	/**
+	 * Topology spread constraints to apply to the pods of an app, e.g. to spread its instances across nodes or zones.
+	 */
+	private List<TopologySpreadConstraint> topologySpreadConstraints = new ArrayList<>();
+
 	/**
 	 * Secret key references to be added to the Pod environment.
 	 */
@@ -586,6 +1006,17 @@ public class KubernetesDeployerProperties {
 	 */
 	private String deploymentServiceAccountName;
 
+	/**
+	 * Name of the PriorityClass of app and task pods, e.g. to let latency-sensitive work preempt batch work.
+	 */
+	private String priorityClassName;
+
+	/**
+	 * Preemption policy of app and task pods, either PreemptLowerPriority or Never. Must match the policy of
+	 * the PriorityClass, as the Priority admission controller rejects pods with a conflicting policy.
+	 */
+	private String preemptionPolicy;
+
 	/**
 	 * The security context to apply to created pod's.
 	 */
@@ -611,11 +1042,71 @@ public class KubernetesDeployerProperties {
 	 */
 	private String statefulSetInitContainerImageName;
 
+	/**
+	 * How the pods of a StatefulSet learn their instance index.
+	 */
+	private StatefulSetIndexProvider statefulSetIndexProvider = StatefulSetIndexProvider.initContainer;
+
 	/**
 	 * A custom init container to apply.
 	 */
 	private InitContainer initContainer;
 
+	/**
+	 * Maximum time in seconds for a Deployment to make progress before the rollout is reported as failed.
+	 * Uses the Kubernetes default when not set.
+	 */
+	private Integer progressDeadlineSeconds;
+
+	/**
+	 * The HorizontalPodAutoscaler to create for each app.
+	 */
+	private Autoscaler autoscaler = new Autoscaler();
+
+	/**
+	 * The JVM memory settings derived from the container memory limit.
+	 */
+	private JvmMemory jvmMemory = new JvmMemory();
+
+	/**
+	 * Pre-pulling of app and task images on every node.
+	 */
+	private ImagePrePull imagePrePull = new ImagePrePull();
+
+	/**
+	 * Named clusters to deploy to. When set, each deploy, launch and schedule request is placed
+	 * on one of these clusters according to the {@link #clusterPlacement} strategy.
+	 */
+	private Map<String, Cluster> clusters = new LinkedHashMap<>();
+
+	/**
+	 * The strategy used to pick the target cluster when multiple clusters are configured.
+	 */
+	private ClusterPlacement clusterPlacement = ClusterPlacement.roundRobin;
+
+	/**
+	 * The number of lines to return from the end of each pod's log. A negative value returns the complete log.
+	 */
+	private int logTailingLines = 500;
+
+	/**
+	 * Timeout in seconds to wait for the log of a single pod when the logs of several pods are fetched.
+	 */
+	private int logFetchTimeout = 30;
+
+	/**
+	 * Time in seconds a pod may stay unschedulable, e.g. because no node has enough resources, before its
+	 * instance is reported as failed. Scheduled pods, e.g. pulling their image, do not time out. Unschedulable
+	 * pods are reported as deploying indefinitely when not set.
+	 */
+	private Integer pendingTimeout;
+
+	/**
+	 * The maximum number of Kubernetes API requests a deployer issues concurrently, e.g. when fetching the
+	 * logs of many pods.
+	 */
+	private int maxConcurrentApiRequests = 8;
+
 	public String getNamespace() {
 		return namespace;
 	}
@@ -712,6 +1203,86 @@ public class KubernetesDeployerProperties {
 		this.readinessProbePort = readinessProbePort;
 	}
 
+	public Integer getLivenessProbeFailureThreshold() {
+		return livenessProbeFailureThreshold;
+	}
+
+	public void setLivenessProbeFailureThreshold(Integer livenessProbeFailureThreshold) {
+		this.livenessProbeFailureThreshold = livenessProbeFailureThreshold;
+	}
+
+	public Integer getReadinessProbeSuccessThreshold() {
+		return readinessProbeSuccessThreshold;
+	}
+
+	public void setReadinessProbeSuccessThreshold(Integer readinessProbeSuccessThreshold) {
+		this.readinessProbeSuccessThreshold = readinessProbeSuccessThreshold;
+	}
+
+	public Integer getReadinessProbeFailureThreshold() {
+		return readinessProbeFailureThreshold;
+	}
+
+	public void setReadinessProbeFailureThreshold(Integer readinessProbeFailureThreshold) {
+		this.readinessProbeFailureThreshold = readinessProbeFailureThreshold;
+	}
+
+	public ProbeType getProbeType() {
+		return probeType;
+	}
+
+	public void setProbeType(ProbeType probeType) {
+		this.probeType = probeType;
+	}
+
+	public String getStartupProbePath() {
+		return startupProbePath;
+	}
+
+	public void setStartupProbePath(String startupProbePath) {
+		this.startupProbePath = startupProbePath;
+	}
+
+	public Integer getStartupProbePort() {
+		return startupProbePort;
+	}
+
+	public void setStartupProbePort(Integer startupProbePort) {
+		this.startupProbePort = startupProbePort;
+	}
+
+	public int getStartupProbeDelay() {
+		return startupProbeDelay;
+	}
+
+	public void setStartupProbeDelay(int startupProbeDelay) {
+		this.startupProbeDelay = startupProbeDelay;
+	}
+
+	public int getStartupProbePeriod() {
+		return startupProbePeriod;
+	}
+
+	public void setStartupProbePeriod(int startupProbePeriod) {
+		this.startupProbePeriod = startupProbePeriod;
+	}
+
+	public int getStartupProbeTimeout() {
+		return startupProbeTimeout;
+	}
+
+	public void setStartupProbeTimeout(int startupProbeTimeout) {
+		this.startupProbeTimeout = startupProbeTimeout;
+	}
+
+	public int getStartupProbeFailureThreshold() {
+		return startupProbeFailureThreshold;
+	}
+
+	public void setStartupProbeFailureThreshold(int startupProbeFailureThreshold) {
+		this.startupProbeFailureThreshold = startupProbeFailureThreshold;
+	}
+
 	public String getProbeCredentialsSecret() {
 		return probeCredentialsSecret;
 	}
@@ -729,6 +1300,30 @@ public class KubernetesDeployerProperties {
 		this.statefulSet = statefulSet;
 	}
 
+	public QosProfile getQosProfile() {
+		return qosProfile;
+	}
+
+	public void setQosProfile(QosProfile qosProfile) {
+		this.qosProfile = qosProfile;
+	}
+
+	public boolean isCpuPinning() {
+		return cpuPinning;
+	}
+
+	public void setCpuPinning(boolean cpuPinning) {
+		this.cpuPinning = cpuPinning;
+	}
+
+	public List<TopologySpreadConstraint> getTopologySpreadConstraints() {
+		return topologySpreadConstraints;
+	}
+
+	public void setTopologySpreadConstraints(List<TopologySpreadConstraint> topologySpreadConstraints) {
+		this.topologySpreadConstraints = topologySpreadConstraints;
+	}
+
 	public List<Toleration> getTolerations() {
 		return tolerations;
 	}
@@ -905,6 +1500,22 @@ public class KubernetesDeployerProperties {
 		this.deploymentServiceAccountName = deploymentServiceAccountName;
 	}
 
+	public String getPriorityClassName() {
+		return priorityClassName;
+	}
+
+	public void setPriorityClassName(String priorityClassName) {
+		this.priorityClassName = priorityClassName;
+	}
+
+	public String getPreemptionPolicy() {
+		return preemptionPolicy;
+	}
+
+	public void setPreemptionPolicy(String preemptionPolicy) {
+		this.preemptionPolicy = preemptionPolicy;
+	}
+
 	public int getMaximumConcurrentTasks() {
 		return maximumConcurrentTasks;
 	}
@@ -968,4 +1579,92 @@ public class KubernetesDeployerProperties {
 	public void setInitContainer(InitContainer initContainer) {
 		this.initContainer = initContainer;
 	}
+
+	public Map<String, Cluster> getClusters() {
+		return clusters;
+	}
+
+	public void setClusters(Map<String, Cluster> clusters) {
+		this.clusters = clusters;
+	}
+
+	public ClusterPlacement getClusterPlacement() {
+		return clusterPlacement;
+	}
+
+	public void setClusterPlacement(ClusterPlacement clusterPlacement) {
+		this.clusterPlacement = clusterPlacement;
+	}
+
+	public int getLogTailingLines() {
+		return logTailingLines;
+	}
+
+	public void setLogTailingLines(int logTailingLines) {
+		this.logTailingLines = logTailingLines;
+	}
+
+	public int getLogFetchTimeout() {
+		return logFetchTimeout;
+	}
+
+	public void setLogFetchTimeout(int logFetchTimeout) {
+		this.logFetchTimeout = logFetchTimeout;
+	}
+
+	public Integer getPendingTimeout() {
+		return pendingTimeout;
+	}
+
+	public void setPendingTimeout(Integer pendingTimeout) {
+		this.pendingTimeout = pendingTimeout;
+	}
+
+	public int getMaxConcurrentApiRequests() {
+		return maxConcurrentApiRequests;
+	}
+
+	public void setMaxConcurrentApiRequests(int maxConcurrentApiRequests) {
+		this.maxConcurrentApiRequests = maxConcurrentApiRequests;
+	}
+
+	public Autoscaler getAutoscaler() {
+		return autoscaler;
+	}
+
+	public void setAutoscaler(Autoscaler autoscaler) {
+		this.autoscaler = autoscaler;
+	}
+
+	public StatefulSetIndexProvider getStatefulSetIndexProvider() {
+		return statefulSetIndexProvider;
+	}
+
+	public void setStatefulSetIndexProvider(StatefulSetIndexProvider statefulSetIndexProvider) {
+		this.statefulSetIndexProvider = statefulSetIndexProvider;
+	}
+
+	public Integer getProgressDeadlineSeconds() {
+		return progressDeadlineSeconds;
+	}
+
+	public void setProgressDeadlineSeconds(Integer progressDeadlineSeconds) {
+		this.progressDeadlineSeconds = progressDeadlineSeconds;
+	}
+
+	public JvmMemory getJvmMemory() {
+		return jvmMemory;
+	}
+
+	public void setJvmMemory(JvmMemory jvmMemory) {
+		this.jvmMemory = jvmMemory;
+	}
+
+	public ImagePrePull getImagePrePull() {
+		return imagePrePull;
+	}
+
+	public void setImagePrePull(ImagePrePull imagePrePull) {
+		this.imagePrePull = imagePrePull;
+	}
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Tracks the timestamp of the last log line returned per pod container, so that subsequent log requests
+ * only fetch lines written since. The state travels to the caller as an opaque continuation token.
+ */
+class KubernetesLogCursor {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private final Map<String, Instant> lastTimestamps;
+
+	private final Map<String, Instant> nextTimestamps = new LinkedHashMap<>();
+
+	private KubernetesLogCursor(Map<String, Instant> lastTimestamps) {
+		this.lastTimestamps = lastTimestamps;
+	}
+
+	/**
+	 * Restore a cursor from a continuation token.
+	 *
+	 * @param continuationToken the token, or {@code null} to start from the tail of each log
+	 * @return the cursor
+	 */
+	static KubernetesLogCursor decode(String continuationToken) {
+		Map<String, Instant> lastTimestamps = new LinkedHashMap<>();
+		if (StringUtils.hasText(continuationToken)) {
+			try {
+				byte[] json = Base64.getUrlDecoder().decode(continuationToken);
+				Map<String, String> timestamps = OBJECT_MAPPER.readValue(json, new TypeReference<Map<String, String>>() {
+				});
+				timestamps.forEach((key, timestamp) -> lastTimestamps.put(key, Instant.parse(timestamp)));
+			}
+			catch (IOException | RuntimeException e) {
+				throw new IllegalArgumentException("Invalid log continuation token: " + continuationToken, e);
+			}
+		}
+		return new KubernetesLogCursor(lastTimestamps);
+	}
+
+	/**
+	 * The {@code sinceTime} to request the log of a container with, truncated to the second precision the
+	 * API server accepts.
+	 *
+	 * @param key the pod container key
+	 * @return the RFC3339 time or {@code null} if the container has not been read before
+	 */
+	String getSinceTime(String key) {
+		Instant last = this.lastTimestamps.get(key);
+		return (last != null) ? last.truncatedTo(ChronoUnit.SECONDS).toString() : null;
+	}
+
+	/**
+	 * Drop the lines of a timestamped log that were already returned, strip the timestamps off the remaining
+	 * lines and remember the last timestamp seen for the next token.
+	 *
+	 * @param key the pod container key
+	 * @param timestampedLog the log fetched with timestamps
+	 * @return the new lines
+	 */
+	String advance(String key, String timestampedLog) {
+		Instant last = this.lastTimestamps.get(key);
+		StringBuilder lines = new StringBuilder();
+		boolean skip = false;
+		for (String line : timestampedLog.split("\n")) {
+			if (line.isEmpty()) {
+				continue;
+			}
+			Instant timestamp = PodLogAggregator.parseTimestamp(line);
+			if (timestamp == null) {
+				// continuation lines follow the fate of the preceding timestamped line
+				if (!skip) {
+					lines.append(line).append('\n');
+				}
+				continue;
+			}
+			skip = (last != null) && !timestamp.isAfter(last);
+			if (!skip) {
+				last = timestamp;
+				int separator = line.indexOf(' ');
+				lines.append((separator > 0) ? line.substring(separator + 1) : "").append('\n');
+			}
+		}
+		if (last != null) {
+			this.nextTimestamps.put(key, last);
+		}
+		return lines.toString();
+	}
+
+	/**
+	 * Create the continuation token covering the containers passed to {@link #advance(String, String)}.
+	 *
+	 * @return the token
+	 */
+	String encode() {
+		Map<String, String> timestamps = new LinkedHashMap<>();
+		this.nextTimestamps.forEach((key, timestamp) -> timestamps.put(key, timestamp.toString()));
+		try {
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(
+					OBJECT_MAPPER.writeValueAsString(timestamps).getBytes(StandardCharsets.UTF_8));
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Unable to create log continuation token", e);
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+/**
+ * Encapsulates parameters used to stream the logs of an app or task.
+ */
+public class KubernetesLogOptions {
+	private String podName;
+	private boolean follow;
+	private String sinceTime;
+	private Integer sinceSeconds;
+	private Integer limitBytes;
+	private Integer tailingLines;
+	private boolean timestamps;
+
+	public String getPodName() {
+		return podName;
+	}
+
+	/**
+	 * Only stream the log of the given pod instead of all pods of the app or task.
+	 *
+	 * @param podName the pod name
+	 * @return this options instance
+	 */
+	public KubernetesLogOptions withPodName(String podName) {
+		this.podName = podName;
+		return this;
+	}
+
+	public boolean isFollow() {
+		return follow;
+	}
+
+	/**
+	 * Keep the stream open and deliver new log lines as they are written. Requires the request to match
+	 * a single pod.
+	 *
+	 * @param follow whether to follow the log
+	 * @return this options instance
+	 */
+	public KubernetesLogOptions withFollow(boolean follow) {
+		this.follow = follow;
+		return this;
+	}
+
+	public String getSinceTime() {
+		return sinceTime;
+	}
+
+	/**
+	 * Only return lines written after the given RFC3339 timestamp. Takes precedence over
+	 * {@link #withSinceSeconds(Integer)}.
+	 *
+	 * @param sinceTime the RFC3339 timestamp
+	 * @return this options instance
+	 */
+	public KubernetesLogOptions withSinceTime(String sinceTime) {
+		this.sinceTime = sinceTime;
+		return this;
+	}
+
+	public Integer getSinceSeconds() {
+		return sinceSeconds;
+	}
+
+	/**
+	 * Only return lines written within the given number of seconds.
+	 *
+	 * @param sinceSeconds the number of seconds
+	 * @return this options instance
+	 */
+	public KubernetesLogOptions withSinceSeconds(Integer sinceSeconds) {
+		this.sinceSeconds = sinceSeconds;
+		return this;
+	}
+
+	public Integer getLimitBytes() {
+		return limitBytes;
+	}
+
+	/**
+	 * Limit the number of bytes returned for each pod.
+	 *
+	 * @param limitBytes the maximum number of bytes per pod
+	 * @return this options instance
+	 */
+	public KubernetesLogOptions withLimitBytes(Integer limitBytes) {
+		this.limitBytes = limitBytes;
+		return this;
+	}
+
+	public Integer getTailingLines() {
+		return tailingLines;
+	}
+
+	/**
+	 * Only return the given number of lines from the end of each pod's log. Defaults to the
+	 * {@code logTailingLines} deployer property; a negative value returns the complete log.
+	 *
+	 * @param tailingLines the number of lines
+	 * @return this options instance
+	 */
+	public KubernetesLogOptions withTailingLines(Integer tailingLines) {
+		this.tailingLines = tailingLines;
+		return this;
+	}
+
+	public boolean isTimestamps() {
+		return timestamps;
+	}
+
+	/**
+	 * Prefix each line with its RFC3339 timestamp. When the logs of several pods are fetched into a single
+	 * String, their lines are merged by timestamp instead of being appended pod by pod.
+	 *
+	 * @param timestamps whether to include timestamps
+	 * @return this options instance
+	 */
+	public KubernetesLogOptions withTimestamps(boolean timestamps) {
+		this.timestamps = timestamps;
+		return this;
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+/**
+ * The log lines written since a previous log request, together with the token to pass to the next one.
+ */
+public class KubernetesLogSegment {
+	private final String log;
+	private final String continuationToken;
+
+	public KubernetesLogSegment(String log, String continuationToken) {
+		this.log = log;
+		this.continuationToken = continuationToken;
+	}
+
+	public String getLog() {
+		return log;
+	}
+
+	public String getContinuationToken() {
+		return continuationToken;
+	}
+}
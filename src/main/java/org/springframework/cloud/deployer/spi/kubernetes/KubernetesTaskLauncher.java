@@ -16,14 +16,35 @@
 
 package org.springframework.cloud.deployer.spi.kubernetes;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
+import io.fabric8.kubernetes.api.model.ContainerStateTerminated;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.EnvVarBuilder;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
@@ -34,17 +55,23 @@ import io.fabric8.kubernetes.api.model.PodSpec;
 import io.fabric8.kubernetes.api.model.PodStatus;
 import io.fabric8.kubernetes.api.model.PodTemplateSpec;
 import io.fabric8.kubernetes.api.model.batch.Job;
+import io.fabric8.kubernetes.api.model.batch.JobBuilder;
+import io.fabric8.kubernetes.api.model.batch.JobCondition;
 import io.fabric8.kubernetes.api.model.batch.JobList;
 import io.fabric8.kubernetes.api.model.batch.JobSpec;
 import io.fabric8.kubernetes.api.model.batch.JobSpecBuilder;
 import io.fabric8.kubernetes.api.model.batch.JobStatus;
+import io.fabric8.kubernetes.client.HttpClientAware;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
 import io.fabric8.kubernetes.client.dsl.PodResource;
-import org.hashids.Hashids;
+import io.fabric8.kubernetes.client.utils.URLUtils;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.Response;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
@@ -67,8 +94,31 @@ import org.springframework.util.StringUtils;
  * @author Ilayaperumal Gopinathan
  */
 public class KubernetesTaskLauncher extends AbstractKubernetesDeployer implements TaskLauncher {
+	private static final String INDEXED_COMPLETION = "Indexed";
+
+	private static final String COMPLETION_INDEX_ANNOTATION = "batch.kubernetes.io/job-completion-index";
+
+	// keeps the label selector of a collection delete well within URL length limits
+	private static final int CLEANUP_CHUNK_SIZE = 100;
+
 	private KubernetesTaskLauncherProperties taskLauncherProperties;
 
+	private TaskLogArchive taskLogArchive;
+
+	private volatile TaskLaunchQueue launchQueue;
+
+	private final TaskIdGenerator taskIdGenerator;
+
+	private final List<TaskCompletionListener> completionListeners = new CopyOnWriteArrayList<>();
+
+	private final Map<String, List<CompletableFuture<TaskCompletion>>> pendingCompletions = new ConcurrentHashMap<>();
+
+	private final Set<String> notifiedCompletions = ConcurrentHashMap.newKeySet();
+
+	private boolean watchingTasks;
+
+	private volatile Watch taskWatch;
+
 	@Autowired
 	public KubernetesTaskLauncher(KubernetesDeployerProperties properties,
 			KubernetesClient client) {
@@ -93,6 +143,7 @@ public class KubernetesTaskLauncher extends AbstractKubernetesDeployer implement
 	                             KubernetesClient client, ContainerFactory containerFactory) {
 		this.properties = kubernetesDeployerProperties;
 		this.taskLauncherProperties = taskLauncherProperties;
+		this.taskIdGenerator = new TaskIdGenerator(taskLauncherProperties.getInstanceId());
 		this.client = client;
 		this.containerFactory = containerFactory;
 		this.deploymentPropertiesResolver = new DeploymentPropertiesResolver(
@@ -109,13 +160,14 @@ public class KubernetesTaskLauncher extends AbstractKubernetesDeployer implement
 		}
 
 		if (this.maxConcurrentExecutionsReached()) {
-			throw new IllegalStateException(
+			throw new MaximumConcurrentTasksExceededException(
 				String.format("Cannot launch task %s. The maximum concurrent task executions is at its limit [%d].",
 					request.getDefinition().getName(), this.getMaximumConcurrentTasks())
 			);
 		}
 
 		logPossibleDownloadResourceMessage(request.getResource());
+		registerImage(request);
 		try {
 			launch(appId, request);
 			return appId;
@@ -125,6 +177,113 @@ public class KubernetesTaskLauncher extends AbstractKubernetesDeployer implement
 		}
 	}
 
+	/**
+	 * Launch several tasks at once. The maximum concurrent tasks are checked once against the size of the batch,
+	 * and the pod specs are built and created concurrently on the API executor, bounded by the
+	 * {@code maxConcurrentApiRequests} deployer property. The generated ids are unique, so the existence check
+	 * of {@link #launch(AppDeploymentRequest)} is skipped.
+	 *
+	 * @param requests the launch requests
+	 * @return the task id of each launched request and the failure of each request that was not launched, keyed
+	 * by the index of the request in the list, so that a request passed twice is launched twice
+	 * @throws MaximumConcurrentTasksExceededException if the batch exceeds the maximum concurrent tasks
+	 */
+	public BatchOperationResult<Integer, String> launchAll(List<AppDeploymentRequest> requests) {
+		int runningCount = getRunningTaskExecutionCount();
+		if (runningCount + requests.size() > getMaximumConcurrentTasks()) {
+			throw new MaximumConcurrentTasksExceededException(String.format(
+					"Cannot launch %d tasks. %d of the maximum concurrent task executions [%d] are running.",
+					requests.size(), runningCount, getMaximumConcurrentTasks()));
+		}
+
+		Map<Integer, Callable<String>> operations = new LinkedHashMap<>();
+		for (int i = 0; i < requests.size(); i++) {
+			AppDeploymentRequest request = requests.get(i);
+			operations.put(i, () -> {
+				String appId = createDeploymentId(request);
+				logPossibleDownloadResourceMessage(request.getResource());
+				registerImage(request);
+				launch(appId, request);
+				return appId;
+			});
+		}
+
+		BatchOperationResult<Integer, String> result = runBatch(operations);
+		result.getFailures().forEach((index, e) -> logger.error(String.format("Failed to launch task %s",
+				requests.get(index).getDefinition().getName()), e));
+		return result;
+	}
+
+	/**
+	 * Launch the task once the maximum concurrent tasks allow it, instead of failing right away. Queued launches
+	 * are started as running tasks complete. The {@code spring.cloud.deployer.kubernetes.launchPriority}
+	 * deployment property orders launches when the queue is configured for priority ordering.
+	 *
+	 * @param request the launch request
+	 * @return a future completing with the task id once launched, or exceptionally if the launch failed or the
+	 * queue is full
+	 */
+	public CompletableFuture<String> submit(AppDeploymentRequest request) {
+		String priority = PropertyParserUtils.getDeploymentPropertyValue(request.getDeploymentProperties(),
+				"spring.cloud.deployer.kubernetes.launchPriority");
+		return getLaunchQueue().submit(request, StringUtils.hasText(priority) ? Integer.parseInt(priority) : 0);
+	}
+
+	/**
+	 * Wait for the given task execution to finish. Completion is detected through the shared task watch rather
+	 * than by polling the status.
+	 *
+	 * @param id the task execution id
+	 * @param timeout the time to wait
+	 * @return a future completing with the outcome of the execution, or exceptionally with a
+	 * {@link TimeoutException} or, if the execution does not exist, an {@link IllegalStateException}
+	 */
+	public CompletableFuture<TaskCompletion> awaitCompletion(String id, Duration timeout) {
+		CompletableFuture<TaskCompletion> future = new CompletableFuture<>();
+		this.pendingCompletions.compute(id, (key, futures) -> {
+			List<CompletableFuture<TaskCompletion>> pending = (futures != null) ? futures : new CopyOnWriteArrayList<>();
+			pending.add(future);
+			return pending;
+		});
+		ScheduledFuture<?> deadline = getScheduler().schedule(() -> future.completeExceptionally(new TimeoutException(
+				String.format("Task %s did not complete within %s", id, timeout))), timeout.toMillis(),
+				TimeUnit.MILLISECONDS);
+		future.whenComplete((completion, throwable) -> {
+			deadline.cancel(false);
+			this.pendingCompletions.computeIfPresent(id, (key, futures) -> {
+				futures.remove(future);
+				return futures.isEmpty() ? null : futures;
+			});
+		});
+
+		try {
+			startTaskWatch();
+			// the execution may have finished before the watch started
+			TaskCompletion completion = getCompletion(id);
+			if (completion != null) {
+				future.complete(completion);
+			}
+		}
+		catch (RuntimeException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	/**
+	 * Register a listener that is notified whenever a task execution finishes.
+	 *
+	 * @param listener the listener
+	 */
+	public void addCompletionListener(TaskCompletionListener listener) {
+		this.completionListeners.add(listener);
+		startTaskWatch();
+	}
+
+	public void removeCompletionListener(TaskCompletionListener listener) {
+		this.completionListeners.remove(listener);
+	}
+
 	@Override
 	public void cancel(String id) {
 		logger.debug(String.format("Cancelling task: %s", id));
@@ -134,6 +293,7 @@ public class KubernetesTaskLauncher extends AbstractKubernetesDeployer implement
 
 	@Override
 	public void cleanup(String id) {
+		archiveLog(id);
 		try {
 			if (properties.isCreateJob()) {
 				deleteJob(id);
@@ -146,11 +306,93 @@ public class KubernetesTaskLauncher extends AbstractKubernetesDeployer implement
 		}
 	}
 
+	/**
+	 * Clean up several task executions. The ids are processed in chunks, each archived from one listing of their
+	 * pods and deleted with one collection delete selecting {@code spring-app-id in (...)}.
+	 *
+	 * @param ids the ids of the task executions
+	 */
+	public void cleanupAll(Collection<String> ids) {
+		List<String> idList = new ArrayList<>(ids);
+		for (int i = 0; i < idList.size(); i += CLEANUP_CHUNK_SIZE) {
+			String[] chunk = idList.subList(i, Math.min(i + CLEANUP_CHUNK_SIZE, idList.size())).toArray(new String[0]);
+			if (this.taskLogArchive != null) {
+				archiveLogs(client.pods().withLabelIn(SPRING_APP_KEY, chunk).list().getItems());
+			}
+			logger.debug(String.format("Deleting %d task executions", chunk.length));
+			deleteCollection(SPRING_APP_KEY + " in (" + String.join(",", chunk) + ")", () -> {
+				if (properties.isCreateJob()) {
+					client.batch().jobs().withLabelIn(SPRING_APP_KEY, chunk).delete();
+				}
+				else {
+					client.pods().withLabelIn(SPRING_APP_KEY, chunk).delete();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Delete all executions of the given task with a single collection delete by the {@code task-name} label,
+	 * after archiving their logs if a {@link TaskLogArchive} is set.
+	 *
+	 * @param appName the task name
+	 */
 	@Override
 	public void destroy(String appName) {
-		for (String id : getIdsForTasks(Optional.of(appName), properties.isCreateJob())) {
-			cleanup(id);
+		archiveLogs(appName);
+		try {
+			if (properties.isCreateJob()) {
+				logger.debug(String.format("Deleting Jobs for task: %s", appName));
+				deleteCollection("task-name=" + appName,
+						() -> client.batch().jobs().withLabel("task-name", appName).delete());
+			}
+			else {
+				logger.debug(String.format("Deleting Pods for task: %s", appName));
+				deleteCollection("task-name=" + appName,
+						() -> client.pods().withLabel("task-name", appName).delete());
+			}
+		}
+		catch (RuntimeException e) {
+			logger.error(e.getMessage(), e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Delete all executions of the given task and wait until their resources are gone.
+	 *
+	 * @param appName the task name
+	 * @param timeout the time to wait for the deletion to complete
+	 * @throws IllegalStateException if resources remain after the timeout
+	 */
+	public void destroy(String appName, Duration timeout) {
+		destroy(appName);
+		long deadline = System.currentTimeMillis() + timeout.toMillis();
+		while (hasTaskResources(appName)) {
+			if (System.currentTimeMillis() >= deadline) {
+				throw new IllegalStateException(String.format(
+						"Resources of task %s were not deleted within %s", appName, timeout));
+			}
+			try {
+				Thread.sleep(Math.min(1000L, Math.max(1L, deadline - System.currentTimeMillis())));
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(String.format("Interrupted while destroying task %s", appName), e);
+			}
+		}
+	}
+
+	/**
+	 * Close the task watch, then shut down the executors.
+	 */
+	@Override
+	public void destroy() {
+		Watch watch = this.taskWatch;
+		if (watch != null) {
+			watch.close();
 		}
+		super.destroy();
 	}
 
 	@Override
@@ -187,38 +429,410 @@ public class KubernetesTaskLauncher extends AbstractKubernetesDeployer implement
 
 	@Override
 	public String getLog(String id) {
-		if(properties.isCreateJob()){
+		return getLog(id, new KubernetesLogOptions());
+	}
+
+	/**
+	 * Fetch the logs of the pods of the given task execution concurrently. Once the pods are gone the
+	 * complete archived log is returned, if a {@link TaskLogArchive} is set.
+	 *
+	 * @param id the task execution id
+	 * @param options the log options
+	 * @return the combined task log
+	 */
+	public String getLog(String id, KubernetesLogOptions options) {
+		List<Pod> pods = getTaskPods(id);
+		if (pods.isEmpty() && isLogArchived(id)) {
+			return readLog(openArchivedLog(id));
+		}
+		return fetchLogs(pods, options);
+	}
+
+	/**
+	 * Fetch the log lines written since the previous call. Pass the continuation token of the returned
+	 * segment to the next call; a {@code null} token returns the default tail of each pod's log.
+	 *
+	 * @param id the task execution id
+	 * @param continuationToken the token returned by the previous call, or {@code null}
+	 * @return the new log lines and the token for the next call
+	 */
+	public KubernetesLogSegment getLogSince(String id, String continuationToken) {
+		return fetchLogsSince(getTaskPods(id), continuationToken);
+	}
+
+	/**
+	 * Stream the logs of the pods of the given task execution.
+	 *
+	 * @param id the task execution id
+	 * @param options the log options
+	 * @return a reader over the task logs, to be closed by the caller
+	 */
+	public Reader getLogReader(String id, KubernetesLogOptions options) {
+		List<Pod> pods = getTaskPods(id);
+		if (pods.isEmpty() && isLogArchived(id)) {
+			return openArchivedLog(id);
+		}
+		return createLogReader(pods, options);
+	}
+
+	/**
+	 * Set the archive task logs are stored in before the task pods or Jobs are deleted.
+	 *
+	 * @param taskLogArchive the archive, or {@code null} to not archive logs
+	 */
+	public void setTaskLogArchive(TaskLogArchive taskLogArchive) {
+		this.taskLogArchive = taskLogArchive;
+	}
+
+	private void archiveLog(String id) {
+		if (this.taskLogArchive == null) {
+			return;
+		}
+		archiveLog(id, getTaskPods(id));
+	}
+
+	// lists the pods of all executions once and archives their logs concurrently
+	private void archiveLogs(String appName) {
+		if (this.taskLogArchive == null) {
+			return;
+		}
+		archiveLogs(client.pods().withLabel("task-name", appName).list().getItems());
+	}
+
+	private void archiveLogs(List<Pod> taskPods) {
+		Map<String, List<Pod>> podsById = taskPods.stream()
+				.filter(pod -> pod.getMetadata().getLabels().containsKey(SPRING_APP_KEY))
+				.collect(Collectors.groupingBy(pod -> pod.getMetadata().getLabels().get(SPRING_APP_KEY)));
+		Map<String, Callable<Void>> archives = new HashMap<>();
+		podsById.forEach((id, pods) -> archives.put(id, () -> {
+			archiveLog(id, pods);
+			return null;
+		}));
+		runBatch(archives);
+	}
+
+	private void archiveLog(String id, List<Pod> pods) {
+		if (pods.isEmpty()) {
+			return;
+		}
+		try (Reader log = createLogReader(pods, new KubernetesLogOptions().withTailingLines(-1))) {
+			this.taskLogArchive.archive(id, log);
+		}
+		catch (IOException | RuntimeException e) {
+			// losing the log must not keep the task resources around
+			logger.warn(String.format("Failed to archive the log of task %s", id), e);
+		}
+	}
+
+	private boolean isLogArchived(String id) {
+		return this.taskLogArchive != null && this.taskLogArchive.contains(id);
+	}
+
+	private Reader openArchivedLog(String id) {
+		try {
+			return this.taskLogArchive.openLog(id);
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(String.format("Unable to read the archived log of task %s", id), e);
+		}
+	}
+
+	private List<Pod> getTaskPods(String id) {
+		Map<String, String> selector = new HashMap<>();
+		selector.put(SPRING_APP_KEY, id);
+		if (properties.isCreateJob()) {
 			Job job = getJob(id);
-			Map<String, String> selector = new HashMap<>();
-			selector.put(SPRING_APP_KEY, id);
+			if (job == null) {
+				return Collections.emptyList();
+			}
 			selector.put("job-name", job.getMetadata().getName());
-			PodList podList = client.pods().withLabels(selector).list();
-			StringBuilder logAppender = new StringBuilder();
-			for (Pod pod : podList.getItems()) {
-				logAppender.append(this.client.pods().withName(pod.getMetadata().getName()).tailingLines(500).getLog());
+		}
+		return client.pods().withLabels(selector).list().getItems();
+	}
+
+	private TaskLaunchQueue getLaunchQueue() {
+		TaskLaunchQueue queue = this.launchQueue;
+		if (queue == null) {
+			synchronized (this) {
+				queue = this.launchQueue;
+				if (queue == null) {
+					KubernetesTaskLauncherProperties.LaunchQueue queueProperties =
+							this.taskLauncherProperties.getLaunchQueue();
+					queue = new TaskLaunchQueue(this::launch, this::getAvailableTaskSlots, getApiExecutor(),
+							queueProperties.getCapacity(),
+							queueProperties.getOrdering() == KubernetesTaskLauncherProperties.LaunchQueue.Ordering.priority);
+					this.launchQueue = queue;
+					startTaskWatch();
+				}
 			}
-			return logAppender.toString();
-		} else {
-			Map<String, String> selector = new HashMap<>();
-			selector.put(SPRING_APP_KEY, id);
-			PodList podList = client.pods().withLabels(selector).list();
-			StringBuilder logAppender = new StringBuilder();
-			for (Pod pod : podList.getItems()) {
-				logAppender.append(this.client.pods().withName(pod.getMetadata().getName()).tailingLines(500).getLog());
+		}
+		return queue;
+	}
+
+	/**
+	 * The number of tasks that can be launched without exceeding the maximum concurrent tasks. Pending pods
+	 * count as well, so that a burst of launches does not overshoot while their pods start.
+	 *
+	 * @return the available slots
+	 */
+	int getAvailableTaskSlots() {
+		long activeCount = client.pods().withLabel("task-name").list().getItems().stream()
+				.filter(pod -> pod.getMetadata().getDeletionTimestamp() == null)
+				.filter(pod -> !isCompleted(pod))
+				.count();
+		return Math.max(0, getMaximumConcurrentTasks() - (int) activeCount);
+	}
+
+	private synchronized void startTaskWatch() {
+		if (!this.watchingTasks) {
+			watchTasks(false);
+			this.watchingTasks = true;
+		}
+	}
+
+	/**
+	 * Start the one watch on the task Jobs or bare task pods that drives the launch queue and the completion
+	 * notifications. The watch starts from a fresh list whose finished executions are known completions: on
+	 * the first start they are recorded without notification, on a restart those not notified yet finished
+	 * while the watch was down and are delivered now. Executions that no longer exist are forgotten, so the
+	 * notified set is bounded by the task resources present in the cluster.
+	 *
+	 * @param deliverMissed whether to notify finished executions that were not notified yet
+	 */
+	private void watchTasks(boolean deliverMissed) {
+		List<? extends HasMetadata> resources;
+		String resourceVersion;
+		if (properties.isCreateJob()) {
+			JobList jobList = client.batch().jobs().withLabel("task-name").list();
+			resources = jobList.getItems();
+			resourceVersion = jobList.getMetadata().getResourceVersion();
+		}
+		else {
+			PodList podList = client.pods().withLabel("task-name").list();
+			resources = podList.getItems();
+			resourceVersion = podList.getMetadata().getResourceVersion();
+		}
+
+		this.notifiedCompletions.retainAll(resources.stream()
+				.map(resource -> resource.getMetadata().getName())
+				.collect(Collectors.toSet()));
+		for (HasMetadata resource : resources) {
+			LaunchState state = getResourceState(resource);
+			if (resource.getMetadata().getDeletionTimestamp() == null && isFinished(state)
+					&& this.notifiedCompletions.add(resource.getMetadata().getName()) && deliverMissed) {
+				dispatchCompletion(resource, state);
+			}
+		}
+
+		Watch watch = properties.isCreateJob() ?
+				client.batch().jobs().withLabel("task-name").watch(resourceVersion, new TaskWatcher<>()) :
+				client.pods().withLabel("task-name").watch(resourceVersion, new TaskWatcher<>());
+		this.taskWatch = watch;
+	}
+
+	private void restartTaskWatch() {
+		try {
+			watchTasks(true);
+		}
+		catch (RuntimeException e) {
+			logger.warn("Failed to restart the task watch, retrying", e);
+			getScheduler().schedule(() -> getApiExecutor().execute(this::restartTaskWatch), 5, TimeUnit.SECONDS);
+			return;
+		}
+		// slots may have been freed while the watch was down
+		drainLaunchQueue();
+		for (String id : this.pendingCompletions.keySet()) {
+			try {
+				TaskCompletion completion = getCompletion(id);
+				if (completion != null) {
+					completePending(id, completion);
+				}
+			}
+			catch (IllegalStateException e) {
+				// deleted while the watch was down
+				completePending(id, new TaskCompletion(id, null, LaunchState.failed, null, "Deleted"));
+			}
+			catch (RuntimeException e) {
+				logger.warn(String.format("Failed to check the completion of task %s", id), e);
+			}
+		}
+	}
+
+	// runs on the watch thread; anything blocking goes to the API executor
+	private void onTaskChanged(Watcher.Action action, HasMetadata resource) {
+		String id = resource.getMetadata().getName();
+		if (resource instanceof Job || action == Watcher.Action.DELETED || isCompleted((Pod) resource)) {
+			drainLaunchQueue();
+		}
+
+		if (action == Watcher.Action.DELETED) {
+			// an execution deleted before it finished, e.g. cancelled, ends its awaits but is not a completion
+			if (!this.notifiedCompletions.remove(id)) {
+				TaskCompletion deleted = new TaskCompletion(id, resource.getMetadata().getLabels().get("task-name"),
+						LaunchState.failed, null, "Deleted");
+				getApiExecutor().execute(() -> completePending(id, deleted));
+			}
+			return;
+		}
+		// a finished execution being deleted, e.g. by cleanup, is not a new completion
+		if (resource.getMetadata().getDeletionTimestamp() != null) {
+			return;
+		}
+
+		LaunchState state = getResourceState(resource);
+		if (isFinished(state) && this.notifiedCompletions.add(id)) {
+			dispatchCompletion(resource, state);
+		}
+	}
+
+	private void dispatchCompletion(HasMetadata resource, LaunchState state) {
+		String id = resource.getMetadata().getName();
+		String taskName = resource.getMetadata().getLabels().get("task-name");
+		getApiExecutor().execute(() -> {
+			Pod pod = null;
+			try {
+				pod = (resource instanceof Pod) ? (Pod) resource : selectPod(getTaskPods(id), state);
+			}
+			catch (RuntimeException e) {
+				logger.warn(String.format("Failed to get the pods of task %s", id), e);
+			}
+			notifyCompletion(createCompletion(id, taskName, state, pod));
+		});
+	}
+
+	private static LaunchState getResourceState(HasMetadata resource) {
+		if (resource instanceof Job) {
+			return (((Job) resource).getStatus() != null) ? getJobState((Job) resource) : LaunchState.launching;
+		}
+		return getPodState((Pod) resource);
+	}
+
+	private static boolean isFinished(LaunchState state) {
+		return state == LaunchState.complete || state == LaunchState.failed;
+	}
+
+	private void drainLaunchQueue() {
+		TaskLaunchQueue queue = this.launchQueue;
+		if (queue != null) {
+			queue.drain();
+		}
+	}
+
+	private void notifyCompletion(TaskCompletion completion) {
+		logger.debug(String.format("Task completed: %s", completion));
+		completePending(completion.getId(), completion);
+		for (TaskCompletionListener listener : this.completionListeners) {
+			try {
+				listener.onCompletion(completion);
+			}
+			catch (RuntimeException e) {
+				logger.warn(String.format("Task completion listener failed for task %s", completion.getId()), e);
 			}
-			return logAppender.toString();
 		}
 	}
 
+	private void completePending(String id, TaskCompletion completion) {
+		List<CompletableFuture<TaskCompletion>> futures = this.pendingCompletions.get(id);
+		if (futures != null) {
+			futures.forEach(future -> future.complete(completion));
+		}
+	}
+
+	/**
+	 * The completion of the given execution from its current state.
+	 *
+	 * @param id the task execution id
+	 * @return the completion or {@code null} if the execution has not finished yet
+	 * @throws IllegalStateException if the execution does not exist
+	 */
+	private TaskCompletion getCompletion(String id) {
+		LaunchState state = status(id).getState();
+		if (state == LaunchState.unknown) {
+			throw new IllegalStateException(String.format("Task %s does not exist", id));
+		}
+		if (state != LaunchState.complete && state != LaunchState.failed) {
+			return null;
+		}
+		Pod pod = selectPod(getTaskPods(id), state);
+		String taskName = (pod != null) ? pod.getMetadata().getLabels().get("task-name") : null;
+		return createCompletion(id, taskName, state, pod);
+	}
+
+	// the pod that determined the outcome, e.g. a failed pod of a failed Job
+	private static Pod selectPod(List<Pod> pods, LaunchState state) {
+		String phase = (state == LaunchState.failed) ? "Failed" : "Succeeded";
+		return pods.stream()
+				.filter(pod -> pod.getStatus() != null && phase.equals(pod.getStatus().getPhase()))
+				.findFirst()
+				.orElse(pods.isEmpty() ? null : pods.get(0));
+	}
+
+	private TaskCompletion createCompletion(String id, String taskName, LaunchState state, Pod pod) {
+		Integer exitCode = null;
+		String reason = null;
+		if (pod != null && pod.getStatus() != null) {
+			ContainerStatus containerStatus = findAppContainerStatus(pod);
+			if (containerStatus == null && !pod.getStatus().getContainerStatuses().isEmpty()) {
+				containerStatus = pod.getStatus().getContainerStatuses().get(0);
+			}
+			ContainerStateTerminated terminated = (containerStatus != null && containerStatus.getState() != null) ?
+					containerStatus.getState().getTerminated() : null;
+			if (terminated != null) {
+				exitCode = terminated.getExitCode();
+				reason = terminated.getReason();
+			}
+			// pod level reasons such as DeadlineExceeded or Evicted
+			if (reason == null) {
+				reason = pod.getStatus().getReason();
+			}
+		}
+		return new TaskCompletion(id, taskName, state, exitCode, reason);
+	}
+
+	private static LaunchState getPodState(Pod pod) {
+		if (!isCompleted(pod)) {
+			return LaunchState.running;
+		}
+		return "Succeeded".equals(pod.getStatus().getPhase()) ? LaunchState.complete : LaunchState.failed;
+	}
+
+	private class TaskWatcher<T extends HasMetadata> implements Watcher<T> {
+
+		@Override
+		public void eventReceived(Action action, T resource) {
+			if (action != Action.ERROR) {
+				try {
+					onTaskChanged(action, resource);
+				}
+				catch (RuntimeException e) {
+					logger.warn(String.format("Failed to process the change of task %s",
+							resource.getMetadata().getName()), e);
+				}
+			}
+		}
+
+		@Override
+		public void onClose(KubernetesClientException cause) {
+			if (cause != null) {
+				logger.warn("Task watch closed, restarting it", cause);
+				getScheduler().schedule(() -> getApiExecutor().execute(KubernetesTaskLauncher.this::restartTaskWatch),
+						1, TimeUnit.SECONDS);
+			}
+		}
+	}
+
+	private static boolean isCompleted(Pod pod) {
+		String phase = (pod.getStatus() != null) ? pod.getStatus().getPhase() : null;
+		return "Succeeded".equals(phase) || "Failed".equals(phase);
+	}
+
 	private boolean maxConcurrentExecutionsReached() {
 		return this.getRunningTaskExecutionCount() >= this.getMaximumConcurrentTasks();
 	}
 
 	protected String createDeploymentId(AppDeploymentRequest request) {
 		String name = request.getDefinition().getName();
-		Hashids hashids = new Hashids(name, 0, "abcdefghijklmnopqrstuvwxyz1234567890");
-		String hashid = hashids.encode(System.currentTimeMillis());
-		String deploymentId = name + "-" + hashid;
+		String deploymentId = name + "-" + this.taskIdGenerator.nextId();
 		// Kubernetes does not allow . in the name and does not allow uppercase in the name
 		return deploymentId.replace('.', '-').toLowerCase();
 	}
@@ -246,25 +860,43 @@ public class KubernetesTaskLauncher extends AbstractKubernetesDeployer implement
 					.addToLabels(deploymentLabels)
 					.withAnnotations(this.deploymentPropertiesResolver.getJobAnnotations(deploymentProperties))
 					.build();
+			Integer completions = getCompletions(request);
+			boolean indexed = isIndexedCompletion(request, completions);
+			if (indexed) {
+				podSpec.getContainers().get(0).getEnv().add(createCompletionIndexEnvVar("PARTITION_INDEX"));
+				podSpec.getContainers().get(0).getEnv().add(new EnvVarBuilder().withName("PARTITION_COUNT")
+						.withValue(String.valueOf(completions)).build());
+			}
 			PodTemplateSpec podTemplateSpec = new PodTemplateSpec(objectMeta, podSpec);
 
 			JobSpec jobSpec = new JobSpecBuilder()
 					.withTemplate(podTemplateSpec)
 					.withBackoffLimit(getBackoffLimit(request))
+					.withTtlSecondsAfterFinished(getTtlSecondsAfterFinished(request))
+					.withParallelism(getParallelism(request))
+					.withCompletions(completions)
 					.build();
+			if (indexed) {
+				// not modelled by the client version in use
+				jobSpec.setAdditionalProperty("completionMode", INDEXED_COMPLETION);
+			}
 
-			this.client.batch().jobs()
-					.createNew()
+			Job job = new JobBuilder()
 					.withNewMetadata()
 					.withName(appId)
 					.withLabels(Collections.singletonMap("task-name", podLabelMap.get("task-name")))
 					.addToLabels(idMap)
 					.withAnnotations(this.deploymentPropertiesResolver.getJobAnnotations(deploymentProperties))
 					.endMetadata()
-					.withSpec(jobSpec)
-					.done();
+					.build();
+			// set directly, a builder copy of the spec drops the additional properties
+			job.setSpec(jobSpec);
+
+			this.client.batch().jobs().create(job);
 		}
 		else {
+			Assert.isTrue(getParallelism(request) == null && getCompletions(request) == null,
+					"Parallelism and completions require the JobSpec to be used.");
 			logger.debug(String.format("Launching Pod for task: %s", appId));
 			this.client.pods()
 					.createNew()
@@ -280,6 +912,63 @@ public class KubernetesTaskLauncher extends AbstractKubernetesDeployer implement
 		}
 	}
 
+	/**
+	 * The task executions whose pod or Job has finished, with their outcome and finish time.
+	 *
+	 * @return the completed task executions
+	 */
+	List<TaskReaper.CompletedTask> getCompletedTasks() {
+		List<TaskReaper.CompletedTask> completedTasks = new ArrayList<>();
+		if (properties.isCreateJob()) {
+			for (Job job : client.batch().jobs().withLabel("task-name").list().getItems()) {
+				JobCondition condition = (job.getStatus() == null) ? null : job.getStatus().getConditions().stream()
+						.filter(jobCondition -> "True".equals(jobCondition.getStatus()))
+						.filter(jobCondition -> "Complete".equals(jobCondition.getType()) ||
+								"Failed".equals(jobCondition.getType()))
+						.findFirst()
+						.orElse(null);
+				if (condition != null) {
+					completedTasks.add(new TaskReaper.CompletedTask(job.getMetadata().getName(),
+							job.getMetadata().getLabels().get("task-name"), "Complete".equals(condition.getType()),
+							parseTimestamp(condition.getLastTransitionTime(), job.getMetadata())));
+				}
+			}
+		}
+		else {
+			for (Pod pod : client.pods().withLabel("task-name").list().getItems()) {
+				if (isCompleted(pod)) {
+					String finishedAt = pod.getStatus().getContainerStatuses().stream()
+							.filter(containerStatus -> containerStatus.getState() != null &&
+									containerStatus.getState().getTerminated() != null)
+							.map(containerStatus -> containerStatus.getState().getTerminated().getFinishedAt())
+							.filter(Objects::nonNull)
+							// RFC3339 timestamps in UTC sort chronologically as strings
+							.max(Comparator.naturalOrder())
+							.orElse(null);
+					completedTasks.add(new TaskReaper.CompletedTask(pod.getMetadata().getName(),
+							pod.getMetadata().getLabels().get("task-name"),
+							"Succeeded".equals(pod.getStatus().getPhase()),
+							parseTimestamp(finishedAt, pod.getMetadata())));
+				}
+			}
+		}
+		return completedTasks;
+	}
+
+	// resources without a finish time count as finished when created
+	private static Instant parseTimestamp(String timestamp, ObjectMeta metadata) {
+		String value = (timestamp != null) ? timestamp : metadata.getCreationTimestamp();
+		return (value != null) ? Instant.parse(value) : Instant.EPOCH;
+	}
+
+	private boolean hasTaskResources(String appName) {
+		if (properties.isCreateJob() && !client.batch().jobs().withLabel("task-name", appName).list().getItems().isEmpty()) {
+			return true;
+		}
+		// the pods of deleted Jobs are removed by garbage collection after the Jobs themselves
+		return !client.pods().withLabel("task-name", appName).list().getItems().isEmpty();
+	}
+
 	private List<String> getIdsForTasks(Optional<String> taskName, boolean isCreateJob) {
 		List<String> ids = new ArrayList<>();
 		try {
@@ -331,21 +1020,56 @@ public class KubernetesTaskLauncher extends AbstractKubernetesDeployer implement
 				return new TaskStatus(id, LaunchState.unknown, new HashMap<>());
 			}
 
-			boolean failed = jobStatus.getFailed() != null && jobStatus.getFailed() > 0;
-			boolean succeeded = jobStatus.getSucceeded() != null && jobStatus.getSucceeded() > 0;
-			if (failed) {
-				return new TaskStatus(id, LaunchState.failed, new HashMap<>());
-			}
-			if (succeeded) {
-				return new TaskStatus(id, LaunchState.complete, new HashMap<>());
-			}
-			return new TaskStatus(id, LaunchState.launching, new HashMap<>());
+			return new TaskStatus(id, getJobState(job), getJobAttributes(job));
 
 		} else {
 			return buildPodStatus(id);
 		}
 	}
 
+	/**
+	 * The state of a Job aggregated over all its pods. The Job conditions are final, so pods failing and being
+	 * retried within the backoff limit keep the Job running.
+	 *
+	 * @param job the Job
+	 * @return the launch state
+	 */
+	static LaunchState getJobState(Job job) {
+		JobStatus jobStatus = job.getStatus();
+		for (JobCondition condition : jobStatus.getConditions()) {
+			if ("True".equals(condition.getStatus())) {
+				if ("Failed".equals(condition.getType())) {
+					return LaunchState.failed;
+				}
+				if ("Complete".equals(condition.getType())) {
+					return LaunchState.complete;
+				}
+			}
+		}
+
+		int completions = (job.getSpec() != null && job.getSpec().getCompletions() != null) ?
+				job.getSpec().getCompletions() : 1;
+		if (jobStatus.getSucceeded() != null && jobStatus.getSucceeded() >= completions) {
+			return LaunchState.complete;
+		}
+		if (jobStatus.getActive() != null && jobStatus.getActive() > 0) {
+			return LaunchState.running;
+		}
+		return LaunchState.launching;
+	}
+
+	private static Map<String, String> getJobAttributes(Job job) {
+		JobStatus jobStatus = job.getStatus();
+		Map<String, String> attributes = new HashMap<>();
+		if (job.getSpec() != null && job.getSpec().getCompletions() != null) {
+			attributes.put("job.completions", String.valueOf(job.getSpec().getCompletions()));
+		}
+		attributes.put("job.active", String.valueOf(jobStatus.getActive() != null ? jobStatus.getActive() : 0));
+		attributes.put("job.succeeded", String.valueOf(jobStatus.getSucceeded() != null ? jobStatus.getSucceeded() : 0));
+		attributes.put("job.failed", String.valueOf(jobStatus.getFailed() != null ? jobStatus.getFailed() : 0));
+		return attributes;
+	}
+
 	private TaskStatus buildPodStatus(String id) {
 		Pod pod = getPodByName(id);
 		if (pod == null) {
@@ -372,6 +1096,39 @@ public class KubernetesTaskLauncher extends AbstractKubernetesDeployer implement
 	}
 
 
+	/**
+	 * Delete the task Jobs, or the bare task pods, matching the label selector with one DeleteCollection request.
+	 * The client's {@code withLabel(..).delete()} lists the resources and deletes them one by one, so it is only
+	 * used for clients that do not expose their HTTP client.
+	 */
+	private void deleteCollection(String labelSelector, Runnable fallback) {
+		if (!(client instanceof HttpClientAware)) {
+			fallback.run();
+			return;
+		}
+		String path = properties.isCreateJob() ?
+				URLUtils.join(client.getMasterUrl().toString(), "apis", "batch", "v1", "namespaces",
+						client.getNamespace(), "jobs") :
+				URLUtils.join(client.getMasterUrl().toString(), "api", "v1", "namespaces",
+						client.getNamespace(), "pods");
+		HttpUrl url = HttpUrl.parse(path).newBuilder()
+				.addQueryParameter("labelSelector", labelSelector)
+				// Jobs are orphaned by a collection delete unless their pods are deleted in the background
+				.addQueryParameter("propagationPolicy", "Background")
+				.build();
+		Request request = new Request.Builder().url(url).delete().build();
+		try (Response response = ((HttpClientAware) client).getHttpClient().newCall(request).execute()) {
+			if (!response.isSuccessful()) {
+				throw new KubernetesClientException(String.format("Failed to delete the task resources matching %s: %d %s",
+						labelSelector, response.code(), response.message()), response.code(), null);
+			}
+		}
+		catch (IOException e) {
+			throw new KubernetesClientException(
+					String.format("Failed to delete the task resources matching %s", labelSelector), e);
+		}
+	}
+
 	private void deleteJob(String id) {
 		FilterWatchListDeletable<Job, JobList, Boolean, Watch, Watcher<Job>> jobsToDelete = client.batch().jobs()
 				.withLabel(SPRING_APP_KEY, id);
@@ -429,6 +1186,81 @@ public class KubernetesTaskLauncher extends AbstractKubernetesDeployer implement
 		return restartPolicy;
 	}
 
+	/**
+	 * Get the time a finished Job is kept before Kubernetes deletes it. Logs of Jobs deleted this way are
+	 * not archived.
+	 *
+	 * @param request The deployment request.
+	 * @return the ttlSecondsAfterFinished
+	 */
+	protected Integer getTtlSecondsAfterFinished(AppDeploymentRequest request) {
+		String ttlString = PropertyParserUtils.getDeploymentPropertyValue(request.getDeploymentProperties(),
+				"spring.cloud.deployer.kubernetes.ttlSecondsAfterFinished");
+		if (StringUtils.hasText(ttlString)) {
+			return Integer.valueOf(ttlString);
+		}
+		else {
+			return this.taskLauncherProperties.getTtlSecondsAfterFinished();
+		}
+	}
+
+	/**
+	 * Get the number of pods of the Job that run in parallel.
+	 *
+	 * @param request The deployment request.
+	 * @return the parallelism or {@code null} for a single pod
+	 */
+	protected Integer getParallelism(AppDeploymentRequest request) {
+		return getPositiveInteger(request, "spring.cloud.deployer.kubernetes.parallelism");
+	}
+
+	/**
+	 * Get the number of pods of the Job that have to succeed.
+	 *
+	 * @param request The deployment request.
+	 * @return the completions or {@code null} for a single pod
+	 */
+	protected Integer getCompletions(AppDeploymentRequest request) {
+		return getPositiveInteger(request, "spring.cloud.deployer.kubernetes.completions");
+	}
+
+	/**
+	 * Whether each pod of the Job processes its own partition, identified by its completion index.
+	 *
+	 * @param request The deployment request.
+	 * @param completions the number of completions, required for indexed completion
+	 * @return whether the completion mode is {@code Indexed}
+	 */
+	protected boolean isIndexedCompletion(AppDeploymentRequest request, Integer completions) {
+		String completionMode = PropertyParserUtils.getDeploymentPropertyValue(request.getDeploymentProperties(),
+				"spring.cloud.deployer.kubernetes.completionMode");
+		if (!StringUtils.hasText(completionMode) || "NonIndexed".equals(completionMode)) {
+			return false;
+		}
+		Assert.isTrue(INDEXED_COMPLETION.equals(completionMode),
+				"CompletionMode should be 'Indexed' or 'NonIndexed' but was " + completionMode);
+		Assert.notNull(completions, "CompletionMode 'Indexed' requires completions to be set.");
+		return true;
+	}
+
+	private Integer getPositiveInteger(AppDeploymentRequest request, String propertyName) {
+		String value = PropertyParserUtils.getDeploymentPropertyValue(request.getDeploymentProperties(), propertyName);
+		if (!StringUtils.hasText(value)) {
+			return null;
+		}
+		Integer integer = Integer.valueOf(value);
+		Assert.isTrue(integer > 0, String.format("%s should be positive but was %d", propertyName, integer));
+		return integer;
+	}
+
+	private EnvVar createCompletionIndexEnvVar(String name) {
+		return new EnvVarBuilder().withName(name)
+				.withNewValueFrom().withNewFieldRef()
+				.withFieldPath("metadata.annotations['" + COMPLETION_INDEX_ANNOTATION + "']")
+				.endFieldRef().endValueFrom()
+				.build();
+	}
+
 	/**
 	 * Get the BackoffLimit setting for the deployment request.
 	 *
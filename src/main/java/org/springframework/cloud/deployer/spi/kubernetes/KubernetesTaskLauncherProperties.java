@@ -16,7 +16,10 @@
 
 package org.springframework.cloud.deployer.spi.kubernetes;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Configuration properties for the Kubernetes Task Launcher.
@@ -35,6 +38,36 @@ public class KubernetesTaskLauncherProperties {
 	 */
 	private Integer backoffLimit;
 
+	/**
+	 * The number of seconds a finished Job is kept before Kubernetes deletes it. Logs of Jobs deleted this
+	 * way are not archived.
+	 */
+	private Integer ttlSecondsAfterFinished;
+
+	/**
+	 * Identifies this launcher in the generated task ids, between 0 and 65535. Launchers sharing a namespace need
+	 * distinct ids, so it is required when running several replicas: the fallback derived from the host name is a
+	 * 16 bit hash, which collides between replicas far more often than its range suggests. The encoded id makes
+	 * the suffix of task ids about 6 characters longer than a plain timestamp, around 14 characters, which counts
+	 * against the 63 character limit of the label values the task id is used in.
+	 */
+	private Integer instanceId;
+
+	/**
+	 * Archiving of task logs before the task pods or Jobs are cleaned up.
+	 */
+	private LogArchive logArchive = new LogArchive();
+
+	/**
+	 * Queueing of launches submitted while the maximum concurrent tasks are running.
+	 */
+	private LaunchQueue launchQueue = new LaunchQueue();
+
+	/**
+	 * Periodic cleanup of the pods or Jobs of completed task executions.
+	 */
+	private Reaper reaper = new Reaper();
+
 	/**
 	 * Obtains the {@link RestartPolicy} to use. Defaults to
 	 * {@link KubernetesTaskLauncherProperties#restartPolicy}.
@@ -70,4 +103,192 @@ public class KubernetesTaskLauncherProperties {
 	public void setBackoffLimit(Integer backoffLimit) {
 		this.backoffLimit = backoffLimit;
 	}
+
+	public Integer getTtlSecondsAfterFinished() {
+		return ttlSecondsAfterFinished;
+	}
+
+	public void setTtlSecondsAfterFinished(Integer ttlSecondsAfterFinished) {
+		this.ttlSecondsAfterFinished = ttlSecondsAfterFinished;
+	}
+
+	public Integer getInstanceId() {
+		return instanceId;
+	}
+
+	public void setInstanceId(Integer instanceId) {
+		this.instanceId = instanceId;
+	}
+
+	public LogArchive getLogArchive() {
+		return logArchive;
+	}
+
+	public void setLogArchive(LogArchive logArchive) {
+		this.logArchive = logArchive;
+	}
+
+	public LaunchQueue getLaunchQueue() {
+		return launchQueue;
+	}
+
+	public void setLaunchQueue(LaunchQueue launchQueue) {
+		this.launchQueue = launchQueue;
+	}
+
+	public Reaper getReaper() {
+		return reaper;
+	}
+
+	public void setReaper(Reaper reaper) {
+		this.reaper = reaper;
+	}
+
+	public static class LogArchive {
+		/**
+		 * Whether to archive task logs to the local file system on cleanup.
+		 */
+		private boolean enabled;
+
+		/**
+		 * The directory to store the archived logs in.
+		 */
+		private String directory = System.getProperty("java.io.tmpdir") + "/spring-cloud-deployer-kubernetes/task-logs";
+
+		/**
+		 * The maximum total size of the archived logs. The oldest logs are deleted once it is exceeded.
+		 */
+		private DataSize maxSize = DataSize.ofMegabytes(512);
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public String getDirectory() {
+			return directory;
+		}
+
+		public void setDirectory(String directory) {
+			this.directory = directory;
+		}
+
+		public DataSize getMaxSize() {
+			return maxSize;
+		}
+
+		public void setMaxSize(DataSize maxSize) {
+			this.maxSize = maxSize;
+		}
+	}
+
+	public static class LaunchQueue {
+		/**
+		 * The maximum number of queued launches. Further launches are rejected.
+		 */
+		private int capacity = 100;
+
+		/**
+		 * The order queued launches are started in.
+		 */
+		private Ordering ordering = Ordering.fifo;
+
+		public int getCapacity() {
+			return capacity;
+		}
+
+		public void setCapacity(int capacity) {
+			this.capacity = capacity;
+		}
+
+		public Ordering getOrdering() {
+			return ordering;
+		}
+
+		public void setOrdering(Ordering ordering) {
+			this.ordering = ordering;
+		}
+
+		public enum Ordering {
+			/**
+			 * Launches start in submission order, alternating between task names.
+			 */
+			fifo,
+
+			/**
+			 * Launches with a higher {@code spring.cloud.deployer.kubernetes.launchPriority} start first.
+			 */
+			priority
+		}
+	}
+
+	public static class Reaper {
+		/**
+		 * Whether to clean up completed task executions periodically.
+		 */
+		private boolean enabled;
+
+		/**
+		 * The interval between cleanups.
+		 */
+		private Duration interval = Duration.ofMinutes(5);
+
+		/**
+		 * The time completed executions are retained after they finished. Unlimited if not set.
+		 */
+		private Duration maxAge;
+
+		/**
+		 * The number of succeeded executions retained per task name. Unlimited if not set.
+		 */
+		private Integer maxSucceededPerTask;
+
+		/**
+		 * The number of failed executions retained per task name. Unlimited if not set.
+		 */
+		private Integer maxFailedPerTask;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Duration getInterval() {
+			return interval;
+		}
+
+		public void setInterval(Duration interval) {
+			this.interval = interval;
+		}
+
+		public Duration getMaxAge() {
+			return maxAge;
+		}
+
+		public void setMaxAge(Duration maxAge) {
+			this.maxAge = maxAge;
+		}
+
+		public Integer getMaxSucceededPerTask() {
+			return maxSucceededPerTask;
+		}
+
+		public void setMaxSucceededPerTask(Integer maxSucceededPerTask) {
+			this.maxSucceededPerTask = maxSucceededPerTask;
+		}
+
+		public Integer getMaxFailedPerTask() {
+			return maxFailedPerTask;
+		}
+
+		public void setMaxFailedPerTask(Integer maxFailedPerTask) {
+			this.maxFailedPerTask = maxFailedPerTask;
+		}
+	}
 }
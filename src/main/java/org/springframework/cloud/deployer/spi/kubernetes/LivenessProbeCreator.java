@@ -36,6 +36,11 @@ class LivenessProbeCreator extends ProbeCreator {
 				"spring.cloud.scheduler.kubernetes.liveness" : "spring.cloud.deployer.kubernetes.liveness";
 	}
 
+	@Override
+	protected String getProbeName() {
+		return "liveness";
+	}
+
 	@Override
 	public Integer getPort() {
 		String probePortKey = this.probPropertyPrefix + "ProbePort";
@@ -111,4 +116,9 @@ class LivenessProbeCreator extends ProbeCreator {
 
 		return getKubernetesDeployerProperties().getLivenessProbePeriod();
 	}
+
+	@Override
+	protected Integer getDefaultFailureThreshold() {
+		return getKubernetesDeployerProperties().getLivenessProbeFailureThreshold();
+	}
 }
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.io.Reader;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.deployer.spi.app.AppDeployer;
+import org.springframework.cloud.deployer.spi.app.AppScaleRequest;
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.core.RuntimeEnvironmentInfo;
+
+/**
+ * An {@link AppDeployer} that spreads apps over several Kubernetes clusters. Each cluster is served by
+ * its own {@link KubernetesAppDeployer}; requests for an existing app are routed to the cluster that
+ * owns it.
+ */
+public class MultiClusterKubernetesAppDeployer implements AppDeployer, DisposableBean {
+
+	private final KubernetesClusterRouter<KubernetesAppDeployer> router;
+
+	public MultiClusterKubernetesAppDeployer(KubernetesDeployerProperties properties,
+			Map<String, KubernetesClient> clients, ContainerFactory containerFactory) {
+		this(createDeployers(properties, clients, containerFactory), properties.getClusterPlacement().createStrategy());
+	}
+
+	MultiClusterKubernetesAppDeployer(Map<String, KubernetesAppDeployer> deployers,
+			ClusterPlacementStrategy placementStrategy) {
+		this.router = new KubernetesClusterRouter<>(KubernetesDeployerProperties.KUBERNETES_DEPLOYER_PROPERTIES_PREFIX,
+				deployers, placementStrategy);
+	}
+
+	private static Map<String, KubernetesAppDeployer> createDeployers(KubernetesDeployerProperties properties,
+			Map<String, KubernetesClient> clients, ContainerFactory containerFactory) {
+		Map<String, KubernetesAppDeployer> deployers = new LinkedHashMap<>();
+		clients.forEach((name, client) -> deployers.put(name,
+				new KubernetesAppDeployer(properties, client, containerFactory)));
+		return deployers;
+	}
+
+	/**
+	 * Set the pre-puller of each cluster the images of deployed apps are registered with.
+	 *
+	 * @param imagePrePullers the pre-pullers keyed by cluster name
+	 */
+	public void setImagePrePullers(Map<String, ImagePrePuller> imagePrePullers) {
+		imagePrePullers.forEach((clusterName, imagePrePuller) ->
+				this.router.getDelegate(clusterName).setImagePrePuller(imagePrePuller));
+	}
+
+	@Override
+	public String deploy(AppDeploymentRequest request) {
+		String clusterName = place(request);
+		String appId = this.router.getDelegate(clusterName).deploy(request);
+		this.router.register(appId, clusterName);
+		return appId;
+	}
+
+	public CompletableFuture<AppStatus> deployAndAwait(AppDeploymentRequest request, Duration timeout) {
+		String clusterName = place(request);
+		KubernetesAppDeployer deployer = this.router.getDelegate(clusterName);
+		CompletableFuture<AppStatus> status = deployer.deployAndAwait(request, timeout);
+		this.router.register(deployer.createDeploymentId(request), clusterName);
+		return status;
+	}
+
+	@Override
+	public void undeploy(String appId) {
+		try {
+			route(appId).undeploy(appId);
+		}
+		finally {
+			this.router.unregister(appId);
+		}
+	}
+
+	@Override
+	public AppStatus status(String appId) {
+		return route(appId).status(appId);
+	}
+
+	@Override
+	public String getLog(String appId) {
+		return route(appId).getLog(appId);
+	}
+
+	public String getLog(String appId, KubernetesLogOptions options) {
+		return route(appId).getLog(appId, options);
+	}
+
+	public KubernetesLogSegment getLogSince(String appId, String continuationToken) {
+		return route(appId).getLogSince(appId, continuationToken);
+	}
+
+	public Reader getLogReader(String appId, KubernetesLogOptions options) {
+		return route(appId).getLogReader(appId, options);
+	}
+
+	@Override
+	public void scale(AppScaleRequest appScaleRequest) {
+		route(appScaleRequest.getDeploymentId()).scale(appScaleRequest);
+	}
+
+	public BatchOperationResult<String, Integer> scaleAll(Map<String, Integer> counts) {
+		Map<KubernetesAppDeployer, Map<String, Integer>> countsByDeployer = new LinkedHashMap<>();
+		counts.forEach((appId, count) -> countsByDeployer.computeIfAbsent(route(appId), deployer -> new LinkedHashMap<>())
+				.put(appId, count));
+
+		BatchOperationResult<String, Integer> result = new BatchOperationResult<>();
+		countsByDeployer.forEach((deployer, deployerCounts) -> merge(result, deployer.scaleAll(deployerCounts)));
+		return result;
+	}
+
+	public BatchOperationResult<String, Integer> scaleGroup(String groupId, int count) {
+		BatchOperationResult<String, Integer> result = new BatchOperationResult<>();
+		for (KubernetesAppDeployer deployer : this.router.getDelegates()) {
+			merge(result, deployer.scaleGroup(groupId, count));
+		}
+		return result;
+	}
+
+	public CompletableFuture<AppStatus> scaleAndAwait(AppScaleRequest appScaleRequest, Duration timeout) {
+		return route(appScaleRequest.getDeploymentId()).scaleAndAwait(appScaleRequest, timeout);
+	}
+
+	@Override
+	public RuntimeEnvironmentInfo environmentInfo() {
+		return this.router.getDelegates().iterator().next().environmentInfo();
+	}
+
+	@Override
+	public void destroy() {
+		this.router.getDelegates().forEach(KubernetesAppDeployer::destroy);
+	}
+
+	private void merge(BatchOperationResult<String, Integer> result, BatchOperationResult<String, Integer> other) {
+		other.getSuccesses().forEach(result::addSuccess);
+		other.getFailures().forEach(result::addFailure);
+	}
+
+	// an app that is already deployed is routed to its cluster, whose deployer rejects the duplicate
+	private String place(AppDeploymentRequest request) {
+		String appId = this.router.getDelegates().iterator().next().createDeploymentId(request);
+		return this.router.place(appId, request.getDeploymentProperties(), deployer -> owns(deployer, appId),
+				this::countApps);
+	}
+
+	private KubernetesAppDeployer route(String appId) {
+		return this.router.route(appId, deployer -> owns(deployer, appId));
+	}
+
+	private static boolean owns(KubernetesAppDeployer deployer, String appId) {
+		return !deployer.status(appId).getState().equals(DeploymentState.unknown);
+	}
+
+	private int countApps(KubernetesAppDeployer deployer) {
+		return deployer.client.pods().withLabel(AbstractKubernetesDeployer.SPRING_MARKER_KEY,
+				AbstractKubernetesDeployer.SPRING_MARKER_VALUE).list().getItems().size();
+	}
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.io.Reader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.core.RuntimeEnvironmentInfo;
+import org.springframework.cloud.deployer.spi.task.LaunchState;
+import org.springframework.cloud.deployer.spi.task.TaskLauncher;
+import org.springframework.cloud.deployer.spi.task.TaskStatus;
+
+/**
+ * A {@link TaskLauncher} that spreads task executions over several Kubernetes clusters. Each cluster is
+ * served by its own {@link KubernetesTaskLauncher} and enforces the maximum concurrent tasks on its own,
+ * so the overall limit is the sum over all clusters.
+ */
+public class MultiClusterKubernetesTaskLauncher implements TaskLauncher, DisposableBean {
+
+	private final KubernetesClusterRouter<KubernetesTaskLauncher> router;
+
+	public MultiClusterKubernetesTaskLauncher(KubernetesDeployerProperties deployerProperties,
+			KubernetesTaskLauncherProperties taskLauncherProperties, Map<String, KubernetesClient> clients,
+			ContainerFactory containerFactory) {
+		this(createLaunchers(deployerProperties, taskLauncherProperties, clients, containerFactory),
+				deployerProperties.getClusterPlacement().createStrategy());
+	}
+
+	MultiClusterKubernetesTaskLauncher(Map<String, KubernetesTaskLauncher> launchers,
+			ClusterPlacementStrategy placementStrategy) {
+		this.router = new KubernetesClusterRouter<>(KubernetesDeployerProperties.KUBERNETES_DEPLOYER_PROPERTIES_PREFIX,
+				launchers, placementStrategy);
+	}
+
+	private static Map<String, KubernetesTaskLauncher> createLaunchers(KubernetesDeployerProperties deployerProperties,
+			KubernetesTaskLauncherProperties taskLauncherProperties, Map<String, KubernetesClient> clients,
+			ContainerFactory containerFactory) {
+		Map<String, KubernetesTaskLauncher> launchers = new LinkedHashMap<>();
+		clients.forEach((name, client) -> launchers.put(name,
+				new KubernetesTaskLauncher(deployerProperties, taskLauncherProperties, client, containerFactory)));
+		return launchers;
+	}
+
+	/**
+	 * Set the pre-puller of each cluster the images of launched tasks are registered with.
+	 *
+	 * @param imagePrePullers the pre-pullers keyed by cluster name
+	 */
+	public void setImagePrePullers(Map<String, ImagePrePuller> imagePrePullers) {
+		imagePrePullers.forEach((clusterName, imagePrePuller) ->
+				this.router.getDelegate(clusterName).setImagePrePuller(imagePrePuller));
+	}
+
+	/**
+	 * Set the archive task logs of all clusters are stored in before cleanup.
+	 *
+	 * @param taskLogArchive the archive, or {@code null} to not archive logs
+	 */
+	public void setTaskLogArchive(TaskLogArchive taskLogArchive) {
+		this.router.getDelegates().forEach(launcher -> launcher.setTaskLogArchive(taskLogArchive));
+	}
+
+	@Override
+	public String launch(AppDeploymentRequest request) {
+		String clusterName = this.router.place(request.getDeploymentProperties(),
+				KubernetesTaskLauncher::getRunningTaskExecutionCount);
+		String id = this.router.getDelegate(clusterName).launch(request);
+		this.router.register(id, clusterName);
+		return id;
+	}
+
+	/**
+	 * Place each task of the batch and launch them per cluster. Placement accounts for the tasks already placed
+	 * within the batch, so the running task count of each cluster is only determined once.
+	 *
+	 * @param requests the launch requests
+	 * @return the task id of each launched request and the failure of each request that was not launched, keyed
+	 * by the index of the request in the list
+	 * @see KubernetesTaskLauncher#launchAll(List)
+	 */
+	public BatchOperationResult<Integer, String> launchAll(List<AppDeploymentRequest> requests) {
+		Map<KubernetesTaskLauncher, Integer> loads = new HashMap<>();
+		Map<String, List<Integer>> indexesByCluster = new LinkedHashMap<>();
+		for (int i = 0; i < requests.size(); i++) {
+			String clusterName = this.router.place(requests.get(i).getDeploymentProperties(),
+					launcher -> loads.computeIfAbsent(launcher, KubernetesTaskLauncher::getRunningTaskExecutionCount));
+			KubernetesTaskLauncher launcher = this.router.getDelegate(clusterName);
+			loads.computeIfAbsent(launcher, KubernetesTaskLauncher::getRunningTaskExecutionCount);
+			loads.merge(launcher, 1, Integer::sum);
+			indexesByCluster.computeIfAbsent(clusterName, name -> new ArrayList<>()).add(i);
+		}
+
+		BatchOperationResult<Integer, String> result = new BatchOperationResult<>();
+		indexesByCluster.forEach((clusterName, indexes) -> {
+			List<AppDeploymentRequest> clusterRequests = indexes.stream().map(requests::get).collect(Collectors.toList());
+			try {
+				// the cluster result is keyed by the index within the cluster's share of the batch
+				BatchOperationResult<Integer, String> clusterResult =
+						this.router.getDelegate(clusterName).launchAll(clusterRequests);
+				clusterResult.getSuccesses().forEach((index, id) -> {
+					this.router.register(id, clusterName);
+					result.addSuccess(indexes.get(index), id);
+				});
+				clusterResult.getFailures().forEach((index, e) -> result.addFailure(indexes.get(index), e));
+			}
+			catch (RuntimeException e) {
+				// a cluster rejecting its share of the batch does not affect the other clusters
+				indexes.forEach(index -> result.addFailure(index, e));
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Queue the launch on the cluster it is placed on.
+	 *
+	 * @param request the launch request
+	 * @return a future completing with the task id once launched
+	 * @see KubernetesTaskLauncher#submit(AppDeploymentRequest)
+	 */
+	public CompletableFuture<String> submit(AppDeploymentRequest request) {
+		String clusterName = this.router.place(request.getDeploymentProperties(),
+				KubernetesTaskLauncher::getRunningTaskExecutionCount);
+		return this.router.getDelegate(clusterName).submit(request).thenApply(id -> {
+			this.router.register(id, clusterName);
+			return id;
+		});
+	}
+
+	public CompletableFuture<TaskCompletion> awaitCompletion(String id, Duration timeout) {
+		return route(id).awaitCompletion(id, timeout);
+	}
+
+	/**
+	 * Register a listener that is notified whenever a task execution finishes on any cluster.
+	 *
+	 * @param listener the listener
+	 */
+	public void addCompletionListener(TaskCompletionListener listener) {
+		this.router.getDelegates().forEach(launcher -> launcher.addCompletionListener(listener));
+	}
+
+	public void removeCompletionListener(TaskCompletionListener listener) {
+		this.router.getDelegates().forEach(launcher -> launcher.removeCompletionListener(listener));
+	}
+
+	@Override
+	public void cancel(String id) {
+		route(id).cancel(id);
+	}
+
+	@Override
+	public void cleanup(String id) {
+		try {
+			route(id).cleanup(id);
+		}
+		finally {
+			this.router.unregister(id);
+		}
+	}
+
+	@Override
+	public void destroy(String appName) {
+		for (KubernetesTaskLauncher launcher : this.router.getDelegates()) {
+			launcher.destroy(appName);
+		}
+	}
+
+	/**
+	 * Delete all executions of the given task on every cluster and wait until their resources are gone.
+	 *
+	 * @param appName the task name
+	 * @param timeout the time to wait on each cluster
+	 * @see KubernetesTaskLauncher#destroy(String, Duration)
+	 */
+	public void destroy(String appName, Duration timeout) {
+		for (KubernetesTaskLauncher launcher : this.router.getDelegates()) {
+			launcher.destroy(appName, timeout);
+		}
+	}
+
+	@Override
+	public TaskStatus status(String id) {
+		return route(id).status(id);
+	}
+
+	@Override
+	public String getLog(String id) {
+		return route(id).getLog(id);
+	}
+
+	public String getLog(String id, KubernetesLogOptions options) {
+		return route(id).getLog(id, options);
+	}
+
+	public KubernetesLogSegment getLogSince(String id, String continuationToken) {
+		return route(id).getLogSince(id, continuationToken);
+	}
+
+	public Reader getLogReader(String id, KubernetesLogOptions options) {
+		return route(id).getLogReader(id, options);
+	}
+
+	@Override
+	public int getMaximumConcurrentTasks() {
+		return this.router.getDelegates().stream().mapToInt(KubernetesTaskLauncher::getMaximumConcurrentTasks).sum();
+	}
+
+	@Override
+	public int getRunningTaskExecutionCount() {
+		return this.router.getDelegates().stream().mapToInt(KubernetesTaskLauncher::getRunningTaskExecutionCount).sum();
+	}
+
+	@Override
+	public void destroy() {
+		this.router.getDelegates().forEach(launcher -> launcher.destroy());
+	}
+
+	@Override
+	public RuntimeEnvironmentInfo environmentInfo() {
+		return this.router.getDelegates().iterator().next().environmentInfo();
+	}
+
+	Collection<KubernetesTaskLauncher> getDelegates() {
+		return this.router.getDelegates();
+	}
+
+	private KubernetesTaskLauncher route(String id) {
+		return this.router.route(id, launcher -> !launcher.status(id).getState().equals(LaunchState.unknown));
+	}
+}
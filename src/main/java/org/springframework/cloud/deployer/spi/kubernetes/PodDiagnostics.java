@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.fabric8.kubernetes.api.model.ContainerStateWaiting;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodCondition;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Extracts the reasons a pod cannot start from its status.
+ */
+class PodDiagnostics {
+
+	static final String UNSCHEDULABLE = "Unschedulable";
+
+	// container waiting reasons that do not resolve without changing the app or the cluster
+	private static final Set<String> FAILED_WAITING_REASONS = new HashSet<>(Arrays.asList("ErrImagePull",
+			"ImagePullBackOff", "InvalidImageName", "CrashLoopBackOff", "CreateContainerConfigError",
+			"CreateContainerError"));
+
+	private PodDiagnostics() {
+	}
+
+	/**
+	 * Find the reason a pod will not become ready: a container waiting on an image pull, crash looping or
+	 * misconfigured, or the pod being unschedulable.
+	 *
+	 * @param pod the pod
+	 * @return the reason followed by its message, or {@code null} if the pod shows no failure
+	 */
+	static String getFailureReason(Pod pod) {
+		if (pod.getStatus() == null) {
+			return null;
+		}
+
+		List<ContainerStatus> containerStatuses = new ArrayList<>();
+		if (pod.getStatus().getInitContainerStatuses() != null) {
+			containerStatuses.addAll(pod.getStatus().getInitContainerStatuses());
+		}
+		if (pod.getStatus().getContainerStatuses() != null) {
+			containerStatuses.addAll(pod.getStatus().getContainerStatuses());
+		}
+
+		for (ContainerStatus containerStatus : containerStatuses) {
+			ContainerStateWaiting waiting = (containerStatus.getState() != null) ?
+					containerStatus.getState().getWaiting() : null;
+			if (waiting != null && FAILED_WAITING_REASONS.contains(waiting.getReason())) {
+				return describe(waiting.getReason(), waiting.getMessage());
+			}
+		}
+
+		PodCondition scheduled = getPodScheduledCondition(pod);
+		if (scheduled != null && UNSCHEDULABLE.equals(scheduled.getReason())) {
+			return describe(scheduled.getReason(), scheduled.getMessage());
+		}
+
+		return null;
+	}
+
+	/**
+	 * Get the {@code PodScheduled} condition of a pod that has not been scheduled.
+	 *
+	 * @param pod the pod
+	 * @return the condition or {@code null} if the pod was scheduled
+	 */
+	static PodCondition getPodScheduledCondition(Pod pod) {
+		if (pod.getStatus() == null || pod.getStatus().getConditions() == null) {
+			return null;
+		}
+
+		return pod.getStatus().getConditions().stream()
+				.filter(condition -> "PodScheduled".equals(condition.getType()))
+				.filter(condition -> "False".equals(condition.getStatus()))
+				.findFirst()
+				.orElse(null);
+	}
+
+	private static String describe(String reason, String message) {
+		return StringUtils.hasText(message) ? reason + ": " + message : reason;
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Combines the logs fetched from several pods into a single log.
+ */
+class PodLogAggregator {
+
+	private PodLogAggregator() {
+	}
+
+	/**
+	 * Append the pod logs one after another in map order. Each block is preceded by a pod name header
+	 * when there is more than one pod.
+	 *
+	 * @param logsByPod the logs keyed by pod name
+	 * @return the combined log
+	 */
+	static String concatenate(Map<String, String> logsByPod) {
+		if (logsByPod.size() == 1) {
+			return logsByPod.values().iterator().next();
+		}
+
+		StringBuilder log = new StringBuilder();
+		for (Map.Entry<String, String> podLog : logsByPod.entrySet()) {
+			log.append("==> ").append(podLog.getKey()).append(" <==\n");
+			log.append(podLog.getValue());
+			if (podLog.getValue().length() > 0 && !podLog.getValue().endsWith("\n")) {
+				log.append('\n');
+			}
+		}
+		return log.toString();
+	}
+
+	/**
+	 * Interleave the lines of the pod logs by their leading RFC3339 timestamp. Lines of a single pod keep
+	 * their relative order and lines with equal timestamps keep the pod order. Each line is prefixed
+	 * with the pod name when there is more than one pod.
+	 *
+	 * @param logsByPod the timestamped logs keyed by pod name
+	 * @return the merged log
+	 */
+	static String mergeByTimestamp(Map<String, String> logsByPod) {
+		if (logsByPod.size() == 1) {
+			return logsByPod.values().iterator().next();
+		}
+
+		List<PodLines> pods = new ArrayList<>();
+		for (Map.Entry<String, String> podLog : logsByPod.entrySet()) {
+			pods.add(new PodLines(pods.size(), podLog.getKey(), podLog.getValue()));
+		}
+
+		PriorityQueue<PodLines> queue = new PriorityQueue<>(Comparator
+				.comparing((PodLines pod) -> pod.timestamp, Comparator.nullsFirst(Comparator.naturalOrder()))
+				.thenComparingInt(pod -> pod.order));
+		pods.stream().filter(PodLines::hasNext).forEach(queue::add);
+
+		StringBuilder log = new StringBuilder();
+		while (!queue.isEmpty()) {
+			PodLines pod = queue.poll();
+			log.append('[').append(pod.podName).append("] ").append(pod.next()).append('\n');
+			if (pod.hasNext()) {
+				queue.add(pod);
+			}
+		}
+		return log.toString();
+	}
+
+	/**
+	 * Parse the RFC3339 timestamp the kubelet prepends to each line when timestamps are requested.
+	 *
+	 * @param line the log line
+	 * @return the timestamp or {@code null} if the line does not start with one
+	 */
+	static Instant parseTimestamp(String line) {
+		int separator = line.indexOf(' ');
+		String timestamp = (separator > 0) ? line.substring(0, separator) : line;
+		try {
+			return Instant.parse(timestamp);
+		}
+		catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+
+	private static class PodLines {
+		private final int order;
+		private final String podName;
+		private final String[] lines;
+		private int position;
+		private Instant timestamp;
+
+		PodLines(int order, String podName, String log) {
+			this.order = order;
+			this.podName = podName;
+			this.lines = log.isEmpty() ? new String[0] : log.split("\n");
+			advanceTimestamp();
+		}
+
+		boolean hasNext() {
+			return this.position < this.lines.length;
+		}
+
+		String next() {
+			String line = this.lines[this.position++];
+			advanceTimestamp();
+			return line;
+		}
+
+		private void advanceTimestamp() {
+			if (hasNext()) {
+				Instant next = parseTimestamp(this.lines[this.position]);
+				// continuation lines without a timestamp stay attached to the preceding line
+				if (next != null) {
+					this.timestamp = next;
+				}
+			}
+		}
+	}
+}
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import io.fabric8.kubernetes.api.model.HTTPGetAction;
 import io.fabric8.kubernetes.api.model.HTTPGetActionBuilder;
 import io.fabric8.kubernetes.api.model.HTTPHeader;
 import io.fabric8.kubernetes.api.model.Probe;
@@ -29,6 +30,7 @@ import io.fabric8.kubernetes.api.model.Secret;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.cloud.deployer.spi.kubernetes.support.PropertyParserUtils;
 import org.springframework.cloud.deployer.spi.scheduler.ScheduleRequest;
+import org.springframework.cloud.deployer.spi.util.CommandLineTokenizer;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
@@ -40,6 +42,8 @@ import org.springframework.util.StringUtils;
  */
 abstract class ProbeCreator {
 	protected static final String KUBERNETES_DEPLOYER_PREFIX = "spring.cloud.deployer.kubernetes";
+	protected static final String SCHEDULER_PREFIX = "spring.cloud.scheduler.kubernetes";
+	protected static final String GRPC_HEALTH_PROBE_COMMAND = "grpc_health_probe";
 	protected static final String AUTHORIZATION_HEADER_NAME = "Authorization";
 	protected static final String PROBE_CREDENTIALS_SECRET_KEY_NAME = "credentials";
 	protected static final String BOOT_1_READINESS_PROBE_PATH = "/info";
@@ -59,24 +63,62 @@ abstract class ProbeCreator {
 	}
 
 	Probe create() {
-		HTTPGetActionBuilder httpGetActionBuilder = new HTTPGetActionBuilder()
-				.withPath(getProbePath())
-				.withNewPort(getPort());
+		ProbeBuilder probeBuilder = new ProbeBuilder()
+				.withTimeoutSeconds(getTimeout())
+				.withInitialDelaySeconds(getInitialDelay())
+				.withPeriodSeconds(getPeriod())
+				.withSuccessThreshold(getSuccessThreshold())
+				.withFailureThreshold(getFailureThreshold());
+
+		switch (getProbeType()) {
+			case tcp:
+				probeBuilder.withNewTcpSocket().withNewPort(getPort()).endTcpSocket();
+				break;
+			case exec:
+				probeBuilder.withNewExec().withCommand(getProbeCommand()).endExec();
+				break;
+			case grpc:
+				probeBuilder.withNewExec().withCommand(GRPC_HEALTH_PROBE_COMMAND, "-addr=:" + getPort()).endExec();
+				break;
+			default:
+				probeBuilder.withHttpGet(createHttpGetAction());
+		}
 
-		List<HTTPHeader> httpHeaders = getHttpHeaders();
+		return probeBuilder.build();
+	}
 
-		if (!httpHeaders.isEmpty()) {
-			httpGetActionBuilder.withHttpHeaders(httpHeaders);
+	/**
+	 * The mechanism used by the probe, resolved from the probe specific deployment property, the app wide
+	 * {@code probeType} deployment property and finally the deployer property.
+	 *
+	 * @return the probe type
+	 */
+	ProbeType getProbeType() {
+		String probeTypeValue = getProbePropertyValue("ProbeType");
+
+		if (!StringUtils.hasText(probeTypeValue)) {
+			probeTypeValue = getDeploymentPropertyValue(getPropertyPrefix() + ".probeType");
 		}
 
-		return new ProbeBuilder()
-				.withHttpGet(httpGetActionBuilder.build())
-				.withTimeoutSeconds(getTimeout())
-				.withInitialDelaySeconds(getInitialDelay())
-				.withPeriodSeconds(getPeriod())
-				.build();
+		if (StringUtils.hasText(probeTypeValue)) {
+			for (ProbeType probeType : ProbeType.values()) {
+				if (probeType.name().equalsIgnoreCase(probeTypeValue.trim())) {
+					return probeType;
+				}
+			}
+			throw new IllegalArgumentException(String.format("Invalid probe type value: '%s'", probeTypeValue));
+		}
+
+		return kubernetesDeployerProperties.getProbeType();
 	}
 
+	/**
+	 * The name of the probe used to build its deployment property keys, e.g. {@code liveness}.
+	 *
+	 * @return the probe name
+	 */
+	protected abstract String getProbeName();
+
 	protected abstract String getProbePath();
 
 	protected abstract Integer getPort();
@@ -87,6 +129,45 @@ abstract class ProbeCreator {
 
 	protected abstract int getPeriod();
 
+	/**
+	 * The number of consecutive successes after which the probe is considered successful again.
+	 * Kubernetes only accepts values other than 1 for readiness probes.
+	 *
+	 * @return the success threshold or {@code null} for the Kubernetes default
+	 */
+	protected Integer getSuccessThreshold() {
+		String successThresholdValue = getProbePropertyValue("ProbeSuccessThreshold");
+
+		if (StringUtils.hasText(successThresholdValue)) {
+			return Integer.valueOf(successThresholdValue);
+		}
+
+		return getDefaultSuccessThreshold();
+	}
+
+	/**
+	 * The number of consecutive failures after which the probe is considered failed.
+	 *
+	 * @return the failure threshold or {@code null} for the Kubernetes default
+	 */
+	protected Integer getFailureThreshold() {
+		String failureThresholdValue = getProbePropertyValue("ProbeFailureThreshold");
+
+		if (StringUtils.hasText(failureThresholdValue)) {
+			return Integer.valueOf(failureThresholdValue);
+		}
+
+		return getDefaultFailureThreshold();
+	}
+
+	protected Integer getDefaultSuccessThreshold() {
+		return null;
+	}
+
+	protected Integer getDefaultFailureThreshold() {
+		return null;
+	}
+
 	protected KubernetesDeployerProperties getKubernetesDeployerProperties() {
 		return kubernetesDeployerProperties;
 	}
@@ -101,6 +182,10 @@ abstract class ProbeCreator {
 		return PropertyParserUtils.getDeploymentPropertyValue(getDeploymentProperties(), propertyName);
 	}
 
+	protected String getProbePropertyValue(String propertySuffix) {
+		return getDeploymentPropertyValue(getPropertyPrefix() + "." + getProbeName() + propertySuffix);
+	}
+
 	protected Integer getDefaultPort() {
 		return containerConfiguration.getExternalPort();
 	}
@@ -120,6 +205,36 @@ abstract class ProbeCreator {
 		return false;
 	}
 
+	private String getPropertyPrefix() {
+		return (this.containerConfiguration.getAppDeploymentRequest() instanceof ScheduleRequest) ?
+				SCHEDULER_PREFIX : KUBERNETES_DEPLOYER_PREFIX;
+	}
+
+	private HTTPGetAction createHttpGetAction() {
+		HTTPGetActionBuilder httpGetActionBuilder = new HTTPGetActionBuilder()
+				.withPath(getProbePath())
+				.withNewPort(getPort());
+
+		List<HTTPHeader> httpHeaders = getHttpHeaders();
+
+		if (!httpHeaders.isEmpty()) {
+			httpGetActionBuilder.withHttpHeaders(httpHeaders);
+		}
+
+		return httpGetActionBuilder.build();
+	}
+
+	private List<String> getProbeCommand() {
+		String probeCommandValue = getProbePropertyValue("ProbeCommand");
+
+		if (!StringUtils.hasText(probeCommandValue)) {
+			throw new IllegalArgumentException(String.format("An exec %s probe requires the %sProbeCommand property",
+					getProbeName(), getProbeName()));
+		}
+
+		return new CommandLineTokenizer(probeCommandValue).getArgs();
+	}
+
 	private List<HTTPHeader> getHttpHeaders() {
 		List<HTTPHeader> httpHeaders = new ArrayList<>();
 
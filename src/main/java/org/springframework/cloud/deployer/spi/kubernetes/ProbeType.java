@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+/**
+ * The mechanism a readiness, liveness or startup probe uses to check the app container.
+ */
+public enum ProbeType {
+	/**
+	 * An HTTP GET request against the probe path, typically an actuator endpoint.
+	 */
+	http,
+
+	/**
+	 * A TCP connection attempt to the probe port. The cheapest check, it only verifies that the port accepts
+	 * connections.
+	 */
+	tcp,
+
+	/**
+	 * A command run inside the container, set through the {@code <probe>ProbeCommand} deployment property.
+	 */
+	exec,
+
+	/**
+	 * The standard gRPC health check against the probe port. Runs {@code grpc_health_probe}, which must be
+	 * present in the image, as an exec probe.
+	 */
+	grpc
+}
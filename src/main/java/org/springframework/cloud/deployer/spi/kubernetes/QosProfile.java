@@ -0,0 +1,38 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+/**
+ * The Kubernetes quality of service class the resources of an app container are derived for.
+ */
+public enum QosProfile {
+	/**
+	 * CPU and memory requests equal the limits. The configured limits are used, falling back to the requests.
+	 * Required for exclusive cores from the kubelet static CPU manager.
+	 */
+	guaranteed,
+
+	/**
+	 * At least one CPU or memory request or limit is set; requests default to the limits as usual.
+	 */
+	burstable,
+
+	/**
+	 * No CPU or memory requests or limits are set.
+	 */
+	besteffort
+}
@@ -36,6 +36,11 @@ class ReadinessProbeCreator extends ProbeCreator {
 				"spring.cloud.scheduler.kubernetes.readiness" : "spring.cloud.deployer.kubernetes.readiness";
 	}
 
+	@Override
+	protected String getProbeName() {
+		return "readiness";
+	}
+
 	@Override
 	public Integer getPort() {
 		String probePortKey = this.probPropertyPrefix + "ProbePort";
@@ -111,4 +116,14 @@ class ReadinessProbeCreator extends ProbeCreator {
 
 		return getKubernetesDeployerProperties().getReadinessProbePeriod();
 	}
+
+	@Override
+	protected Integer getDefaultSuccessThreshold() {
+		return getKubernetesDeployerProperties().getReadinessProbeSuccessThreshold();
+	}
+
+	@Override
+	protected Integer getDefaultFailureThreshold() {
+		return getKubernetesDeployerProperties().getReadinessProbeFailureThreshold();
+	}
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import org.springframework.cloud.deployer.spi.scheduler.ScheduleRequest;
+import org.springframework.util.StringUtils;
+
+/**
+ * Creates a Startup Probe. Liveness and readiness checks only start once the startup probe succeeded, so a
+ * slow starting app is given {@code failureThreshold * period} seconds to start without relaxing its liveness
+ * check.
+ */
+class StartupProbeCreator extends ProbeCreator {
+
+	private final String probPropertyPrefix;
+
+	public StartupProbeCreator(KubernetesDeployerProperties kubernetesDeployerProperties,
+			ContainerConfiguration containerConfiguration) {
+		super(kubernetesDeployerProperties, containerConfiguration);
+		this.probPropertyPrefix = (containerConfiguration.getAppDeploymentRequest() instanceof ScheduleRequest) ?
+				"spring.cloud.scheduler.kubernetes.startup" : "spring.cloud.deployer.kubernetes.startup";
+	}
+
+	/**
+	 * Whether a startup probe should be created, which is the case once a probe path or a startup probe type
+	 * is configured.
+	 *
+	 * @return {@code true} if the startup probe is enabled
+	 */
+	boolean isEnabled() {
+		return getProbePath() != null || StringUtils.hasText(getProbePropertyValue("ProbeType"));
+	}
+
+	@Override
+	protected String getProbeName() {
+		return "startup";
+	}
+
+	@Override
+	public Integer getPort() {
+		String probePortKey = this.probPropertyPrefix + "ProbePort";
+		String probePortValue = getDeploymentPropertyValue(probePortKey);
+
+		if (StringUtils.hasText(probePortValue)) {
+			return Integer.parseInt(probePortValue);
+		}
+
+		if (getKubernetesDeployerProperties().getStartupProbePort() != null) {
+			return getKubernetesDeployerProperties().getStartupProbePort();
+		}
+
+		if (getDefaultPort() != null) {
+			return getDefaultPort();
+		}
+
+		return null;
+	}
+
+	@Override
+	protected String getProbePath() {
+		String probePathKey = this.probPropertyPrefix + "ProbePath";
+		String probePathValue = getDeploymentPropertyValue(probePathKey);
+
+		if (StringUtils.hasText(probePathValue)) {
+			return probePathValue;
+		}
+
+		return getKubernetesDeployerProperties().getStartupProbePath();
+	}
+
+	@Override
+	protected int getTimeout() {
+		String probeTimeoutKey = this.probPropertyPrefix + "ProbeTimeout";
+		String probeTimeoutValue = getDeploymentPropertyValue(probeTimeoutKey);
+
+		if (StringUtils.hasText(probeTimeoutValue)) {
+			return Integer.valueOf(probeTimeoutValue);
+		}
+
+		return getKubernetesDeployerProperties().getStartupProbeTimeout();
+	}
+
+	@Override
+	protected int getInitialDelay() {
+		String probeDelayKey = this.probPropertyPrefix + "ProbeDelay";
+		String probeDelayValue = getDeploymentPropertyValue(probeDelayKey);
+
+		if (StringUtils.hasText(probeDelayValue)) {
+			return Integer.valueOf(probeDelayValue);
+		}
+
+		return getKubernetesDeployerProperties().getStartupProbeDelay();
+	}
+
+	@Override
+	protected int getPeriod() {
+		String probePeriodKey = this.probPropertyPrefix + "ProbePeriod";
+		String probePeriodValue = getDeploymentPropertyValue(probePeriodKey);
+
+		if (StringUtils.hasText(probePeriodValue)) {
+			return Integer.valueOf(probePeriodValue);
+		}
+
+		return getKubernetesDeployerProperties().getStartupProbePeriod();
+	}
+
+	@Override
+	protected Integer getDefaultFailureThreshold() {
+		return getKubernetesDeployerProperties().getStartupProbeFailureThreshold();
+	}
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+/**
+ * Defines how the pods of a StatefulSet learn their instance index.
+ */
+public enum StatefulSetIndexProvider {
+	/**
+	 * An init container derives the index from the pod host name and writes it to
+	 * /config/application.properties on a shared volume.
+	 */
+	initContainer,
+
+	/**
+	 * The index is passed in the INSTANCE_INDEX and SPRING_APPLICATION_INDEX environment variables, read from the
+	 * {@code apps.kubernetes.io/pod-index} pod label through the downward API. Requires Kubernetes 1.28 or later.
+	 */
+	downwardApi
+}
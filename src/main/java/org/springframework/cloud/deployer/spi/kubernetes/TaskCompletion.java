@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import org.springframework.cloud.deployer.spi.task.LaunchState;
+
+/**
+ * The outcome of a finished task execution, taken from the termination state of its app container.
+ */
+public class TaskCompletion {
+	private final String id;
+	private final String taskName;
+	private final LaunchState state;
+	private final Integer exitCode;
+	private final String reason;
+
+	public TaskCompletion(String id, String taskName, LaunchState state, Integer exitCode, String reason) {
+		this.id = id;
+		this.taskName = taskName;
+		this.state = state;
+		this.exitCode = exitCode;
+		this.reason = reason;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public String getTaskName() {
+		return taskName;
+	}
+
+	/**
+	 * @return {@link LaunchState#complete} or {@link LaunchState#failed}
+	 */
+	public LaunchState getState() {
+		return state;
+	}
+
+	/**
+	 * @return the exit code of the app container, or {@code null} if it never ran, e.g. when the pod was evicted
+	 */
+	public Integer getExitCode() {
+		return exitCode;
+	}
+
+	/**
+	 * @return the termination reason, e.g. {@code Completed}, {@code Error}, {@code OOMKilled} or
+	 * {@code DeadlineExceeded}
+	 */
+	public String getReason() {
+		return reason;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("TaskCompletion[id=%s, state=%s, exitCode=%s, reason=%s]", this.id, this.state,
+				this.exitCode, this.reason);
+	}
+}
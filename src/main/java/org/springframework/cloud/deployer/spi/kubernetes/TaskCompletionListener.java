@@ -0,0 +1,31 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+/**
+ * Notified when a task execution launched by a {@link KubernetesTaskLauncher} finishes.
+ */
+@FunctionalInterface
+public interface TaskCompletionListener {
+
+	/**
+	 * Called once per finished task execution, on a thread of the task launcher. Implementations should not block.
+	 *
+	 * @param completion the outcome of the execution
+	 */
+	void onCompletion(TaskCompletion completion);
+}
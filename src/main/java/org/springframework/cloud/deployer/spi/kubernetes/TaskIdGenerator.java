@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Instant;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hashids.Hashids;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Generates short, DNS safe suffixes for task ids. Each suffix encodes the milliseconds since a fixed epoch, the
+ * id of the generating instance and a sequence within the millisecond, so ids are unique across threads and
+ * across launcher instances with distinct instance ids.
+ */
+class TaskIdGenerator {
+
+	private static final long EPOCH = Instant.parse("2020-01-01T00:00:00Z").toEpochMilli();
+
+	private static final int MAX_INSTANCE_ID = 0xFFFF;
+
+	private static final Log logger = LogFactory.getLog(TaskIdGenerator.class);
+
+	private final Hashids hashids = new Hashids("spring-cloud-deployer-kubernetes", 0,
+			"abcdefghijklmnopqrstuvwxyz1234567890");
+
+	private final Clock clock;
+
+	private final long instanceId;
+
+	private long lastMillis = -1;
+
+	private long sequence;
+
+	TaskIdGenerator(Integer instanceId) {
+		this(instanceId, Clock.systemUTC());
+	}
+
+	TaskIdGenerator(Integer instanceId, Clock clock) {
+		Assert.isTrue(instanceId == null || (instanceId >= 0 && instanceId <= MAX_INSTANCE_ID),
+				"The instance id should be between 0 and " + MAX_INSTANCE_ID);
+		this.clock = clock;
+		this.instanceId = (instanceId != null) ? instanceId : deriveInstanceId();
+		if (instanceId == null && StringUtils.hasText(System.getenv("KUBERNETES_SERVICE_HOST"))) {
+			logger.warn(String.format("No task launcher instance id is set, using %d derived from the host name. "
+					+ "Replicas may derive the same id and generate colliding task ids, so set a distinct "
+					+ "spring.cloud.deployer.kubernetes.instanceId for each replica.", this.instanceId));
+		}
+	}
+
+	/**
+	 * Generate the next id suffix.
+	 *
+	 * @return the suffix, consisting of lowercase letters and digits
+	 */
+	String nextId() {
+		long millis;
+		long sequence;
+		synchronized (this) {
+			// a clock moving backwards continues from the last millisecond to stay unique
+			millis = Math.max(this.clock.millis() - EPOCH, this.lastMillis);
+			this.sequence = (millis == this.lastMillis) ? this.sequence + 1 : 0;
+			this.lastMillis = millis;
+			sequence = this.sequence;
+		}
+		return this.hashids.encode(millis, this.instanceId, sequence);
+	}
+
+	long getInstanceId() {
+		return this.instanceId;
+	}
+
+	// the host name is the pod name when running in Kubernetes, which differs between replicas
+	private static long deriveInstanceId() {
+		String hostName = System.getenv("HOSTNAME");
+		if (!StringUtils.hasText(hostName)) {
+			try {
+				hostName = InetAddress.getLocalHost().getHostName();
+			}
+			catch (UnknownHostException e) {
+				// pid@host of the running JVM
+				hostName = ManagementFactory.getRuntimeMXBean().getName();
+			}
+		}
+		return hostName.hashCode() & MAX_INSTANCE_ID;
+	}
+}
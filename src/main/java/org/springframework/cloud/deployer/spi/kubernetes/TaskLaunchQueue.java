@@ -0,0 +1,226 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+
+/**
+ * A bounded queue of task launches that are started once the maximum concurrent tasks allow it. Each task name
+ * has its own queue and the task name served least recently goes next, so a burst of launches of one task does
+ * not starve the others. With priority ordering, higher priority launches go first regardless of the task name.
+ */
+class TaskLaunchQueue {
+
+	private static final Log logger = LogFactory.getLog(TaskLaunchQueue.class);
+
+	private final Function<AppDeploymentRequest, String> launcher;
+
+	private final IntSupplier availableSlots;
+
+	private final Executor executor;
+
+	private final int capacity;
+
+	private final boolean prioritized;
+
+	// orders the launches of a single task name
+	private final Comparator<QueuedLaunch> taskOrder;
+
+	private final Map<String, PriorityQueue<QueuedLaunch>> queues = new LinkedHashMap<>();
+
+	private final Map<String, Long> lastServed = new HashMap<>();
+
+	private long sequence;
+
+	private long served;
+
+	private int size;
+
+	private boolean draining;
+
+	private boolean drainRequested;
+
+	/**
+	 * Create a launch queue.
+	 *
+	 * @param launcher launches a task and returns its id
+	 * @param availableSlots the number of tasks that can be launched right now
+	 * @param executor runs the drains, which block on the launches
+	 * @param capacity the maximum number of queued launches
+	 * @param prioritized whether to order launches by priority before fairness and arrival
+	 */
+	TaskLaunchQueue(Function<AppDeploymentRequest, String> launcher, IntSupplier availableSlots, Executor executor,
+			int capacity, boolean prioritized) {
+		this.launcher = launcher;
+		this.availableSlots = availableSlots;
+		this.executor = executor;
+		this.capacity = capacity;
+		this.prioritized = prioritized;
+		Comparator<QueuedLaunch> arrival = Comparator.comparingLong(launch -> launch.sequence);
+		this.taskOrder = prioritized ?
+				Comparator.comparingInt((QueuedLaunch launch) -> -launch.priority).thenComparing(arrival) : arrival;
+	}
+
+	/**
+	 * Queue a launch and trigger a drain. Returns without waiting for any launch.
+	 *
+	 * @param request the launch request
+	 * @param priority the launch priority, higher goes first when the queue is prioritized
+	 * @return a future completing with the task id once launched, or exceptionally if the launch failed or the
+	 * queue is full
+	 */
+	CompletableFuture<String> submit(AppDeploymentRequest request, int priority) {
+		CompletableFuture<String> future = new CompletableFuture<>();
+		synchronized (this) {
+			if (this.size >= this.capacity) {
+				future.completeExceptionally(new IllegalStateException(String.format(
+						"Cannot queue task %s. The launch queue is at its capacity [%d].",
+						request.getDefinition().getName(), this.capacity)));
+				return future;
+			}
+			enqueue(new QueuedLaunch(request, request.getDefinition().getName(), priority, this.sequence++, future));
+		}
+		drain();
+		return future;
+	}
+
+	/**
+	 * Launch queued tasks on the executor while there are free slots. Only one drain runs at a time; a drain
+	 * requested meanwhile makes the running one go another round.
+	 */
+	void drain() {
+		this.executor.execute(this::runDrain);
+	}
+
+	private void runDrain() {
+		synchronized (this) {
+			if (this.draining) {
+				this.drainRequested = true;
+				return;
+			}
+			this.draining = true;
+		}
+		boolean again = true;
+		while (again) {
+			launchWhileSlotsAvailable();
+			synchronized (this) {
+				again = this.drainRequested;
+				this.drainRequested = false;
+				this.draining = again;
+			}
+		}
+	}
+
+	// launches run outside the monitor so that submitting never waits for them
+	private void launchWhileSlotsAvailable() {
+		int slots;
+		try {
+			slots = this.availableSlots.getAsInt();
+		}
+		catch (RuntimeException e) {
+			// the launches stay queued until the next drain
+			logger.warn("Failed to determine the available task slots", e);
+			return;
+		}
+
+		while (slots > 0) {
+			QueuedLaunch next;
+			synchronized (this) {
+				if (this.size == 0) {
+					return;
+				}
+				next = poll();
+			}
+			try {
+				next.future.complete(this.launcher.apply(next.request));
+				slots--;
+			}
+			catch (MaximumConcurrentTasksExceededException e) {
+				// other launchers took the slot; wait for the next task to complete
+				synchronized (this) {
+					enqueue(next);
+				}
+				return;
+			}
+			catch (RuntimeException e) {
+				next.future.completeExceptionally(e);
+			}
+		}
+	}
+
+	synchronized int size() {
+		return this.size;
+	}
+
+	private void enqueue(QueuedLaunch launch) {
+		this.queues.computeIfAbsent(launch.taskName, name -> new PriorityQueue<>(this.taskOrder)).add(launch);
+		this.size++;
+	}
+
+	private QueuedLaunch poll() {
+		Comparator<QueuedLaunch> fairness = Comparator
+				.comparingLong((QueuedLaunch launch) -> this.lastServed.getOrDefault(launch.taskName, -1L))
+				.thenComparingLong(launch -> launch.sequence);
+		Comparator<QueuedLaunch> order = this.prioritized ?
+				Comparator.comparingInt((QueuedLaunch launch) -> -launch.priority).thenComparing(fairness) : fairness;
+
+		// the head of each task queue is its best candidate
+		QueuedLaunch next = this.queues.values().stream()
+				.map(PriorityQueue::peek)
+				.min(order)
+				.orElseThrow(IllegalStateException::new);
+
+		PriorityQueue<QueuedLaunch> queue = this.queues.get(next.taskName);
+		queue.poll();
+		if (queue.isEmpty()) {
+			this.queues.remove(next.taskName);
+		}
+		this.lastServed.put(next.taskName, this.served++);
+		this.size--;
+		return next;
+	}
+
+	private static class QueuedLaunch {
+		private final AppDeploymentRequest request;
+		private final String taskName;
+		private final int priority;
+		private final long sequence;
+		private final CompletableFuture<String> future;
+
+		QueuedLaunch(AppDeploymentRequest request, String taskName, int priority, long sequence,
+				CompletableFuture<String> future) {
+			this.request = request;
+			this.taskName = taskName;
+			this.priority = priority;
+			this.sequence = sequence;
+			this.future = future;
+		}
+	}
+}
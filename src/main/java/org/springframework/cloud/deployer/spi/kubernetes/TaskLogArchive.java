@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Stores the logs of task executions so they remain available after the task pods or Jobs are deleted.
+ */
+public interface TaskLogArchive {
+
+	/**
+	 * Store the log of a task execution, replacing any log archived before under the same id.
+	 *
+	 * @param id the task execution id
+	 * @param log the log to store, closed by the caller
+	 * @throws IOException if the log cannot be stored
+	 */
+	void archive(String id, Reader log) throws IOException;
+
+	/**
+	 * Check whether the log of a task execution has been archived.
+	 *
+	 * @param id the task execution id
+	 * @return {@code true} if the log is available
+	 */
+	boolean contains(String id);
+
+	/**
+	 * Open the archived log of a task execution.
+	 *
+	 * @param id the task execution id
+	 * @return a reader over the log, or {@code null} if the log has not been archived
+	 * @throws IOException if the log cannot be read
+	 */
+	Reader openLog(String id) throws IOException;
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Periodically cleans up the pods or Jobs of completed task executions, so that they do not pile up and slow down
+ * every listing of task resources. Executions are retained by age and by a number of executions per task name,
+ * counted separately for succeeded and failed executions. Cleanup goes through
+ * {@link KubernetesTaskLauncher#cleanupAll(Collection)}, so task logs are archived before the resources are
+ * deleted in bulk.
+ */
+public class TaskReaper implements Closeable {
+
+	private static final Log logger = LogFactory.getLog(TaskReaper.class);
+
+	private final Collection<KubernetesTaskLauncher> taskLaunchers;
+
+	private final KubernetesTaskLauncherProperties.Reaper properties;
+
+	private final Clock clock;
+
+	private ScheduledExecutorService scheduler;
+
+	/**
+	 * Create a reaper for the given task launchers, one per cluster.
+	 *
+	 * @param taskLaunchers the task launchers whose completed executions to clean up
+	 * @param properties the retention properties
+	 */
+	public TaskReaper(Collection<KubernetesTaskLauncher> taskLaunchers,
+			KubernetesTaskLauncherProperties.Reaper properties) {
+		this(taskLaunchers, properties, Clock.systemUTC());
+	}
+
+	TaskReaper(Collection<KubernetesTaskLauncher> taskLaunchers, KubernetesTaskLauncherProperties.Reaper properties,
+			Clock clock) {
+		this.taskLaunchers = taskLaunchers;
+		this.properties = properties;
+		this.clock = clock;
+	}
+
+	/**
+	 * Start reaping completed task executions periodically.
+	 */
+	public synchronized void start() {
+		if (this.scheduler == null) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("task-reaper-");
+			threadFactory.setDaemon(true);
+			this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+			long interval = this.properties.getInterval().toMillis();
+			this.scheduler.scheduleWithFixedDelay(this::reapQuietly, interval, interval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		if (this.scheduler != null) {
+			this.scheduler.shutdownNow();
+			this.scheduler = null;
+		}
+	}
+
+	/**
+	 * Clean up the completed task executions that are not retained.
+	 *
+	 * @return the ids of the cleaned up executions
+	 */
+	public List<String> reap() {
+		List<String> reaped = new ArrayList<>();
+		for (KubernetesTaskLauncher taskLauncher : this.taskLaunchers) {
+			List<String> expired = selectExpired(taskLauncher.getCompletedTasks());
+			if (expired.isEmpty()) {
+				continue;
+			}
+			try {
+				taskLauncher.cleanupAll(expired);
+				reaped.addAll(expired);
+			}
+			catch (RuntimeException e) {
+				logger.warn(String.format("Failed to clean up %d completed task executions", expired.size()), e);
+			}
+		}
+		if (!reaped.isEmpty()) {
+			logger.debug(String.format("Cleaned up %d completed task executions", reaped.size()));
+		}
+		return reaped;
+	}
+
+	/**
+	 * Select the executions that are older than the maximum age or beyond the number of retained executions of
+	 * their task name and outcome. The most recently finished executions are retained.
+	 *
+	 * @param completedTasks the completed task executions
+	 * @return the ids of the executions to clean up
+	 */
+	List<String> selectExpired(List<CompletedTask> completedTasks) {
+		Instant expiry = (this.properties.getMaxAge() != null) ?
+				this.clock.instant().minus(this.properties.getMaxAge()) : null;
+
+		Map<String, List<CompletedTask>> byTaskAndOutcome = completedTasks.stream()
+				.collect(Collectors.groupingBy(task -> task.getTaskName() + "/" + task.isSucceeded()));
+
+		List<String> expired = new ArrayList<>();
+		for (List<CompletedTask> tasks : byTaskAndOutcome.values()) {
+			tasks.sort(Comparator.comparing(CompletedTask::getFinishedAt).reversed());
+			Integer retained = tasks.get(0).isSucceeded() ?
+					this.properties.getMaxSucceededPerTask() : this.properties.getMaxFailedPerTask();
+			for (int i = 0; i < tasks.size(); i++) {
+				CompletedTask task = tasks.get(i);
+				if ((retained != null && i >= retained) || (expiry != null && task.getFinishedAt().isBefore(expiry))) {
+					expired.add(task.getId());
+				}
+			}
+		}
+		return expired;
+	}
+
+	private void reapQuietly() {
+		try {
+			reap();
+		}
+		catch (RuntimeException e) {
+			logger.warn("Failed to reap completed task executions", e);
+		}
+	}
+
+	/**
+	 * A task execution whose pod or Job has finished.
+	 */
+	static class CompletedTask {
+		private final String id;
+		private final String taskName;
+		private final boolean succeeded;
+		private final Instant finishedAt;
+
+		CompletedTask(String id, String taskName, boolean succeeded, Instant finishedAt) {
+			this.id = id;
+			this.taskName = taskName;
+			this.succeeded = succeeded;
+			this.finishedAt = finishedAt;
+		}
+
+		String getId() {
+			return id;
+		}
+
+		String getTaskName() {
+			return taskName;
+		}
+
+		boolean isSucceeded() {
+			return succeeded;
+		}
+
+		Instant getFinishedAt() {
+			return finishedAt;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes.support;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Reader} that reads a sequence of readers one after another. Each reader is only opened once
+ * the previous one is exhausted, so at most one underlying stream is open at a time.
+ */
+public class ConcatenatingReader extends Reader {
+	private final Iterator<Supplier<Reader>> readers;
+
+	private Reader current;
+
+	public ConcatenatingReader(List<Supplier<Reader>> readers) {
+		this.readers = readers.iterator();
+	}
+
+	@Override
+	public int read(char[] buffer, int offset, int length) throws IOException {
+		while (true) {
+			if (this.current == null) {
+				if (!this.readers.hasNext()) {
+					return -1;
+				}
+				this.current = this.readers.next().get();
+			}
+
+			int read = this.current.read(buffer, offset, length);
+			if (read != -1) {
+				return read;
+			}
+
+			this.current.close();
+			this.current = null;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (this.current != null) {
+			this.current.close();
+			this.current = null;
+		}
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.Watcher;
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AppReadinessBarrier}.
+ */
+public class AppReadinessBarrierTests {
+
+	@Test
+	public void countsOnlyReadyPodsThatAreNotTerminating() {
+		AppReadinessBarrier barrier = new AppReadinessBarrier("app", 2,
+				pod -> "Running".equals(pod.getStatus().getPhase()) ? DeploymentState.deployed : DeploymentState.deploying);
+
+		barrier.eventReceived(Watcher.Action.ADDED, pod("app-1", "Running", false));
+		barrier.eventReceived(Watcher.Action.ADDED, pod("app-2", "Pending", false));
+		assertThat(barrier.getReadyCount()).isEqualTo(1);
+
+		barrier.eventReceived(Watcher.Action.MODIFIED, pod("app-2", "Running", false));
+		assertThat(barrier.getReadyCount()).isEqualTo(2);
+
+		barrier.eventReceived(Watcher.Action.MODIFIED, pod("app-1", "Running", true));
+		assertThat(barrier.getReadyCount()).isEqualTo(1);
+
+		barrier.eventReceived(Watcher.Action.DELETED, pod("app-2", "Running", false));
+		assertThat(barrier.getReadyCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void waitsForSurplusPodsUnlessAutoscaled() {
+		AppReadinessBarrier barrier = new AppReadinessBarrier("app", 2, pod -> DeploymentState.deployed);
+		AppReadinessBarrier autoscaledBarrier = new AppReadinessBarrier("app", 2, pod -> DeploymentState.deployed)
+				.withAutoscaler();
+
+		for (String name : new String[] { "app-1", "app-2", "app-3" }) {
+			barrier.eventReceived(Watcher.Action.ADDED, pod(name, "Running", false));
+			autoscaledBarrier.eventReceived(Watcher.Action.ADDED, pod(name, "Running", false));
+		}
+		assertThat(barrier.isReady()).isFalse();
+		assertThat(autoscaledBarrier.isReady()).isTrue();
+
+		barrier.eventReceived(Watcher.Action.DELETED, pod("app-3", "Running", false));
+		assertThat(barrier.isReady()).isTrue();
+	}
+
+	private Pod pod(String name, String phase, boolean terminating) {
+		return new PodBuilder()
+				.withNewMetadata()
+				.withName(name)
+				.withDeletionTimestamp(terminating ? "2020-05-01T10:00:00Z" : null)
+				.endMetadata()
+				.withNewStatus()
+				.withPhase(phase)
+				.endStatus()
+				.build();
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.kubernetes.support.ConcatenatingReader;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ConcatenatingReader}.
+ */
+public class ConcatenatingReaderTests {
+
+	@Test
+	public void readsAllReadersInOrder() throws Exception {
+		List<Supplier<Reader>> readers = new ArrayList<>();
+		readers.add(() -> new StringReader("first\n"));
+		readers.add(() -> new StringReader(""));
+		readers.add(() -> new StringReader("second\n"));
+
+		assertThat(FileCopyUtils.copyToString(new ConcatenatingReader(readers))).isEqualTo("first\nsecond\n");
+	}
+
+	@Test
+	public void opensReadersLazily() throws Exception {
+		List<String> opened = new ArrayList<>();
+		List<Supplier<Reader>> readers = new ArrayList<>();
+		readers.add(() -> {
+			opened.add("first");
+			return new StringReader("a");
+		});
+		readers.add(() -> {
+			opened.add("second");
+			return new StringReader("b");
+		});
+
+		Reader reader = new ConcatenatingReader(readers);
+		assertThat(opened).isEmpty();
+		assertThat((char) reader.read()).isEqualTo('a');
+		assertThat(opened).containsExactly("first");
+		reader.close();
+		assertThat(opened).containsExactly("first");
+	}
+}
@@ -47,6 +47,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -578,6 +579,146 @@ public class DefaultContainerFactoryTests {
 		assertEquals("/liveness", container.getLivenessProbe().getHttpGet().getPath());
 	}
 
+	@Test
+	public void createStartupProbeDisabledByDefault() {
+		DefaultContainerFactory defaultContainerFactory = new DefaultContainerFactory(
+				new KubernetesDeployerProperties());
+
+		AppDefinition definition = new AppDefinition("app-test", null);
+		AppDeploymentRequest appDeploymentRequest = new AppDeploymentRequest(definition, getResource(), null);
+
+		ContainerConfiguration containerConfiguration = new ContainerConfiguration("app-test", appDeploymentRequest)
+				.withExternalPort(8080);
+
+		Container container = defaultContainerFactory.create(containerConfiguration);
+
+		assertNull(container.getStartupProbe());
+	}
+
+	@Test
+	public void createStartupProbeWithOverrides() {
+		KubernetesDeployerProperties kubernetesDeployerProperties = new KubernetesDeployerProperties();
+		kubernetesDeployerProperties.setStartupProbePath("/actuator/health");
+		DefaultContainerFactory defaultContainerFactory = new DefaultContainerFactory(
+				kubernetesDeployerProperties);
+
+		Map<String,String> appProperties = new HashMap<>();
+		appProperties.put("spring.cloud.deployer.kubernetes.startupProbePort", "8090");
+		appProperties.put("spring.cloud.deployer.kubernetes.startupProbePeriod", "5");
+		appProperties.put("spring.cloud.deployer.kubernetes.startupProbeFailureThreshold", "60");
+
+		AppDefinition definition = new AppDefinition("app-test", appProperties);
+		AppDeploymentRequest appDeploymentRequest = new AppDeploymentRequest(definition,
+				getResource(), appProperties);
+
+		ContainerConfiguration containerConfiguration = new ContainerConfiguration("app-test", appDeploymentRequest)
+				.withExternalPort(8080);
+
+		Container container = defaultContainerFactory.create(containerConfiguration);
+
+		assertNotNull(container.getStartupProbe());
+		assertEquals("/actuator/health", container.getStartupProbe().getHttpGet().getPath());
+		assertEquals(8090, container.getStartupProbe().getHttpGet().getPort().getIntVal().intValue());
+		assertEquals(5, container.getStartupProbe().getPeriodSeconds().intValue());
+		assertEquals(60, container.getStartupProbe().getFailureThreshold().intValue());
+		assertEquals(2, container.getStartupProbe().getTimeoutSeconds().intValue());
+		assertTrue(container.getPorts().stream().anyMatch(port -> port.getContainerPort() == 8090));
+		assertNull(container.getLivenessProbe().getFailureThreshold());
+	}
+
+	@Test
+	public void createProbesWithProbeTypes() {
+		KubernetesDeployerProperties kubernetesDeployerProperties = new KubernetesDeployerProperties();
+		kubernetesDeployerProperties.setReadinessProbeFailureThreshold(5);
+		DefaultContainerFactory defaultContainerFactory = new DefaultContainerFactory(
+				kubernetesDeployerProperties);
+
+		Map<String,String> appProperties = new HashMap<>();
+		appProperties.put("spring.cloud.deployer.kubernetes.probeType", "tcp");
+		appProperties.put("spring.cloud.deployer.kubernetes.readinessProbeSuccessThreshold", "2");
+		appProperties.put("spring.cloud.deployer.kubernetes.livenessProbeType", "exec");
+		appProperties.put("spring.cloud.deployer.kubernetes.livenessProbeCommand", "cat /tmp/healthy");
+		appProperties.put("spring.cloud.deployer.kubernetes.startupProbeType", "GRPC");
+
+		AppDefinition definition = new AppDefinition("app-test", appProperties);
+		AppDeploymentRequest appDeploymentRequest = new AppDeploymentRequest(definition,
+				getResource(), appProperties);
+
+		ContainerConfiguration containerConfiguration = new ContainerConfiguration("app-test", appDeploymentRequest)
+				.withExternalPort(8080);
+
+		Container container = defaultContainerFactory.create(containerConfiguration);
+
+		assertNull(container.getReadinessProbe().getHttpGet());
+		assertEquals(8080, container.getReadinessProbe().getTcpSocket().getPort().getIntVal().intValue());
+		assertEquals(2, container.getReadinessProbe().getSuccessThreshold().intValue());
+		assertEquals(5, container.getReadinessProbe().getFailureThreshold().intValue());
+
+		assertNull(container.getLivenessProbe().getHttpGet());
+		assertThat(container.getLivenessProbe().getExec().getCommand()).containsExactly("cat", "/tmp/healthy");
+
+		assertThat(container.getStartupProbe().getExec().getCommand())
+				.containsExactly(ProbeCreator.GRPC_HEALTH_PROBE_COMMAND, "-addr=:8080");
+		assertEquals(30, container.getStartupProbe().getFailureThreshold().intValue());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void createExecProbeWithoutCommand() {
+		KubernetesDeployerProperties kubernetesDeployerProperties = new KubernetesDeployerProperties();
+		kubernetesDeployerProperties.setProbeType(ProbeType.exec);
+		DefaultContainerFactory defaultContainerFactory = new DefaultContainerFactory(
+				kubernetesDeployerProperties);
+
+		AppDefinition definition = new AppDefinition("app-test", null);
+		AppDeploymentRequest appDeploymentRequest = new AppDeploymentRequest(definition, getResource(), null);
+
+		ContainerConfiguration containerConfiguration = new ContainerConfiguration("app-test", appDeploymentRequest)
+				.withExternalPort(8080);
+
+		defaultContainerFactory.create(containerConfiguration);
+
+		fail();
+	}
+
+	@Test
+	public void createWithJvmMemoryOptions() {
+		KubernetesDeployerProperties kubernetesDeployerProperties = new KubernetesDeployerProperties();
+		kubernetesDeployerProperties.getJvmMemory().setEnabled(true);
+		kubernetesDeployerProperties.getJvmMemory().setMaxMetaspace("128m");
+		DefaultContainerFactory defaultContainerFactory = new DefaultContainerFactory(kubernetesDeployerProperties);
+
+		Map<String, String> appProperties = new HashMap<>();
+		appProperties.put("spring.cloud.deployer.kubernetes.limits.memory", "1Gi");
+		appProperties.put("spring.cloud.deployer.kubernetes.limits.cpu", "500m");
+		appProperties.put("spring.cloud.deployer.kubernetes.jvmMemory.heapPercentage", "50");
+
+		AppDefinition definition = new AppDefinition("app-test", appProperties);
+		AppDeploymentRequest appDeploymentRequest = new AppDeploymentRequest(definition, getResource(), appProperties);
+
+		Container container = defaultContainerFactory.create(new ContainerConfiguration("app-test", appDeploymentRequest));
+
+		assertThat(container.getEnv()).contains(new EnvVar("JAVA_TOOL_OPTIONS",
+				"-Xmx512m -XX:MaxMetaspaceSize=128m -XX:ActiveProcessorCount=1 -XX:+UseSerialGC", null));
+	}
+
+	@Test
+	public void createWithJvmMemoryOptionsKeepsUserOptions() {
+		KubernetesDeployerProperties kubernetesDeployerProperties = new KubernetesDeployerProperties();
+		kubernetesDeployerProperties.getJvmMemory().setEnabled(true);
+		kubernetesDeployerProperties.getLimits().setMemory("2Gi");
+		DefaultContainerFactory defaultContainerFactory = new DefaultContainerFactory(kubernetesDeployerProperties);
+
+		Map<String, String> appProperties = new HashMap<>();
+		appProperties.put("spring.cloud.deployer.kubernetes.environmentVariables", "JAVA_TOOL_OPTIONS=-Xmx1g");
+
+		AppDefinition definition = new AppDefinition("app-test", appProperties);
+		AppDeploymentRequest appDeploymentRequest = new AppDeploymentRequest(definition, getResource(), appProperties);
+
+		Container container = defaultContainerFactory.create(new ContainerConfiguration("app-test", appDeploymentRequest));
+
+		assertThat(container.getEnv()).contains(new EnvVar("JAVA_TOOL_OPTIONS", "-Xmx1g", null));
+	}
+
 	@Test
 	public void testProbeCredentialsSecret() throws Exception {
 		Secret secret = randomSecret();
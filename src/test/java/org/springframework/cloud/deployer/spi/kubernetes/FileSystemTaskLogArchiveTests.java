@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link FileSystemTaskLogArchive}.
+ */
+public class FileSystemTaskLogArchiveTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void archiveAndRead() throws Exception {
+		FileSystemTaskLogArchive archive = new FileSystemTaskLogArchive(folder.getRoot().toPath(), 1024 * 1024);
+
+		assertThat(archive.contains("task-abc")).isFalse();
+		assertThat(archive.openLog("task-abc")).isNull();
+
+		archive.archive("task-abc", new StringReader("line 1\nline 2\n"));
+
+		assertThat(archive.contains("task-abc")).isTrue();
+		assertThat(FileCopyUtils.copyToString(archive.openLog("task-abc"))).isEqualTo("line 1\nline 2\n");
+		assertThat(Files.exists(folder.getRoot().toPath().resolve("task-abc.log.gz"))).isTrue();
+	}
+
+	@Test
+	public void oldestArchivesAreDeletedOnceMaxSizeIsExceeded() throws Exception {
+		Path directory = folder.getRoot().toPath();
+		FileSystemTaskLogArchive archive = new FileSystemTaskLogArchive(directory, 3000);
+
+		archive.archive("task-1", new StringReader(randomText(4000)));
+		Files.setLastModifiedTime(directory.resolve("task-1.log.gz"), FileTime.fromMillis(1000));
+		archive.archive("task-2", new StringReader(randomText(4000)));
+
+		assertThat(archive.contains("task-1")).isFalse();
+		assertThat(archive.contains("task-2")).isTrue();
+	}
+
+	@Test
+	public void archiveExceedingMaxSizeOnItsOwnIsKept() throws Exception {
+		Path directory = folder.getRoot().toPath();
+		FileSystemTaskLogArchive archive = new FileSystemTaskLogArchive(directory, 1000);
+
+		archive.archive("task-1", new StringReader(randomText(4000)));
+		Files.setLastModifiedTime(directory.resolve("task-1.log.gz"), FileTime.fromMillis(1000));
+		archive.archive("task-2", new StringReader(randomText(4000)));
+
+		assertThat(archive.contains("task-1")).isFalse();
+		assertThat(archive.contains("task-2")).isTrue();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsPathsAsIds() throws Exception {
+		new FileSystemTaskLogArchive(folder.getRoot().toPath(), 1024).contains("../task");
+	}
+
+	private String randomText(int length) {
+		Random random = new Random(length);
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			text.append((char) ('a' + random.nextInt(26)));
+		}
+		return text.toString();
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+
+import io.fabric8.kubernetes.api.model.PodSpec;
+import io.fabric8.kubernetes.api.model.apps.DaemonSet;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link ImagePrePuller}.
+ */
+public class ImagePrePullerTests {
+
+	private KubernetesClient client;
+
+	private KubernetesDeployerProperties.ImagePrePull properties;
+
+	private MutableClock clock;
+
+	private ImagePrePuller imagePrePuller;
+
+	@Before
+	public void setUp() {
+		this.client = mock(KubernetesClient.class, RETURNS_DEEP_STUBS);
+		this.properties = new KubernetesDeployerProperties.ImagePrePull();
+		this.properties.setImages(Collections.singletonList("springcloud/base:1.0"));
+		this.properties.setRetention(Duration.ofHours(1));
+		this.clock = new MutableClock(Instant.parse("2020-05-01T10:00:00Z"));
+		this.imagePrePuller = new ImagePrePuller(this.client, this.properties, this.clock);
+	}
+
+	@Test
+	public void registeredImagesAreAddedToConfiguredImages() {
+		this.imagePrePuller.register("springcloud/time:2.1");
+		this.imagePrePuller.register("springcloud/log:2.1");
+		this.imagePrePuller.register("springcloud/time:2.1");
+
+		assertThat(this.imagePrePuller.getImages())
+				.containsExactly("springcloud/base:1.0", "springcloud/log:2.1", "springcloud/time:2.1");
+		verify(this.client.apps().daemonSets(), times(2)).createOrReplace(any(DaemonSet.class));
+	}
+
+	@Test
+	public void imagesExpireAfterRetention() {
+		this.imagePrePuller.register("springcloud/time:2.1");
+		this.clock.advance(Duration.ofMinutes(40));
+		this.imagePrePuller.register("springcloud/log:2.1");
+		this.clock.advance(Duration.ofMinutes(30));
+
+		assertThat(this.imagePrePuller.getImages()).containsExactly("springcloud/base:1.0", "springcloud/log:2.1");
+	}
+
+	@Test
+	public void pullSecretsOfRetainedImagesAreUsed() {
+		this.imagePrePuller.register("registry.example.com/time:2.1", "regcred");
+		this.imagePrePuller.register("springcloud/log:2.1", null);
+		assertThat(this.imagePrePuller.getImagePullSecrets()).containsExactly("regcred");
+
+		this.clock.advance(Duration.ofMinutes(70));
+		this.imagePrePuller.getImages();
+		assertThat(this.imagePrePuller.getImagePullSecrets()).isEmpty();
+	}
+
+	@Test
+	public void daemonSetPullsEachImageInItsOwnContainer() {
+		DaemonSet daemonSet = this.imagePrePuller.createDaemonSet(Arrays.asList("springcloud/base:1.0",
+				"springcloud/time:2.1"), Collections.singletonList("regcred"));
+
+		PodSpec podSpec = daemonSet.getSpec().getTemplate().getSpec();
+		assertThat(daemonSet.getMetadata().getName()).isEqualTo("spring-cloud-deployer-image-prepuller");
+		assertThat(podSpec.getInitContainers()).extracting("image").containsExactly("busybox:1.32");
+		assertThat(podSpec.getInitContainers().get(0).getCommand())
+				.containsExactly("cp", "/bin/sleep", "/prepull/sleep");
+		assertThat(podSpec.getContainers()).extracting("image")
+				.containsExactly("springcloud/base:1.0", "springcloud/time:2.1");
+		assertThat(podSpec.getContainers()).allSatisfy(container -> {
+			assertThat(container.getCommand()).containsExactly("/prepull/sleep", "2147483647");
+			assertThat(container.getVolumeMounts()).extracting("name").containsExactly("prepull");
+		});
+		assertThat(podSpec.getVolumes()).extracting("name").containsExactly("prepull");
+		assertThat(podSpec.getImagePullSecrets()).extracting("name").containsExactly("regcred");
+		assertThat(daemonSet.getSpec().getSelector().getMatchLabels())
+				.isEqualTo(daemonSet.getSpec().getTemplate().getMetadata().getLabels());
+	}
+
+	private static class MutableClock extends Clock {
+		private Instant instant;
+
+		MutableClock(Instant instant) {
+			this.instant = instant;
+		}
+
+		void advance(Duration duration) {
+			this.instant = this.instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.resource.docker.DockerResource;
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for the requests {@link KubernetesAppDeployer} sends to the Kubernetes API.
+ */
+public class KubernetesAppDeployerServerTests {
+
+	@Rule
+	public KubernetesServer server = new KubernetesServer(false, true);
+
+	private KubernetesClient client;
+
+	private KubernetesAppDeployer deployer;
+
+	@Before
+	public void setUp() {
+		this.client = this.server.getClient();
+		this.deployer = new KubernetesAppDeployer(new KubernetesDeployerProperties(), this.client);
+	}
+
+	@Test
+	public void autoscalerIsCreatedThroughAutoscalingV2() throws Exception {
+		Map<String, String> deploymentProperties = new HashMap<>();
+		deploymentProperties.put("spring.cloud.deployer.kubernetes.autoscaler.maxReplicas", "5");
+		deploymentProperties.put("spring.cloud.deployer.kubernetes.autoscaler.cpuUtilization", "70");
+
+		this.deployer.createHorizontalPodAutoscaler(request(deploymentProperties), "Deployment",
+				Collections.singletonMap("spring-app-id", "app"), 2);
+
+		RecordedRequest create = takeRequest("POST", "/apis/autoscaling/v2/namespaces/test/horizontalpodautoscalers");
+		String body = create.getBody().readUtf8();
+		assertThat(body).contains("\"apiVersion\":\"autoscaling/v2\"");
+		assertThat(body).contains("\"minReplicas\":2").contains("\"maxReplicas\":5");
+		assertThat(body).contains("\"averageUtilization\":70");
+	}
+
+	@Test
+	public void scaleAllReportsEachAppWhenOneScaleFails() {
+		this.client.apps().deployments().create(deployment("app-a", "group-a"));
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		counts.put("app-a", 3);
+		counts.put("app-missing", 2);
+
+		BatchOperationResult<String, Integer> result = this.deployer.scaleAll(counts);
+
+		assertThat(result.isSuccessful()).isFalse();
+		assertThat(result.getSuccesses()).containsOnly(entry("app-a", 3));
+		assertThat(result.getFailures()).containsOnlyKeys("app-missing");
+		assertThat(result.getFailures().get("app-missing")).hasMessageContaining("not deployed");
+		assertThat(this.client.apps().deployments().withName("app-a").get().getSpec().getReplicas()).isEqualTo(3);
+	}
+
+	@Test
+	public void scaleGroupScalesTheAppsLabelledWithTheGroup() {
+		this.client.apps().deployments().create(deployment("app-a", "group-a"));
+		this.client.apps().deployments().create(deployment("app-b", "group-b"));
+		this.client.apps().statefulSets().create(new StatefulSetBuilder()
+				.withNewMetadata().withName("app-c").addToLabels("spring-group-id", "group-a").endMetadata()
+				.withNewSpec().withReplicas(1).endSpec()
+				.build());
+
+		BatchOperationResult<String, Integer> result = this.deployer.scaleGroup("group-a", 2);
+
+		assertThat(result.isSuccessful()).isTrue();
+		assertThat(result.getSuccesses()).containsOnly(entry("app-a", 2), entry("app-c", 2));
+		assertThat(this.client.apps().statefulSets().withName("app-c").get().getSpec().getReplicas()).isEqualTo(2);
+		assertThat(this.client.apps().deployments().withName("app-b").get().getSpec().getReplicas()).isEqualTo(1);
+	}
+
+	@Test
+	public void scaleFollowsAnAppRedeployedAsAnotherWorkloadKind() {
+		this.client.apps().statefulSets().create(new StatefulSetBuilder()
+				.withNewMetadata().withName("app-a").addToLabels("spring-group-id", "group-a").endMetadata()
+				.withNewSpec().withReplicas(1).endSpec()
+				.build());
+		this.deployer.scaleAll(Collections.singletonMap("app-a", 2));
+		this.client.apps().statefulSets().withName("app-a").delete();
+		this.client.apps().deployments().create(deployment("app-a", "group-a"));
+
+		BatchOperationResult<String, Integer> result = this.deployer.scaleAll(Collections.singletonMap("app-a", 3));
+
+		assertThat(result.isSuccessful()).isTrue();
+		assertThat(this.client.apps().deployments().withName("app-a").get().getSpec().getReplicas()).isEqualTo(3);
+	}
+
+	private static Deployment deployment(String name, String groupId) {
+		return new DeploymentBuilder()
+				.withNewMetadata().withName(name).addToLabels("spring-group-id", groupId).endMetadata()
+				.withNewSpec().withReplicas(1).endSpec()
+				.build();
+	}
+
+	private RecordedRequest takeRequest(String method, String path) throws InterruptedException {
+		int requestCount = this.server.getMockServer().getRequestCount();
+		for (int i = 0; i < requestCount; i++) {
+			RecordedRequest request = this.server.getMockServer().takeRequest();
+			if (method.equals(request.getMethod()) && path.equals(request.getPath())) {
+				return request;
+			}
+		}
+		throw new AssertionError(String.format("No %s request to %s", method, path));
+	}
+
+	private static AppDeploymentRequest request(Map<String, String> deploymentProperties) {
+		return new AppDeploymentRequest(new AppDefinition("app", Collections.emptyMap()),
+				new DockerResource("springcloud/app:latest"), deploymentProperties);
+	}
+}
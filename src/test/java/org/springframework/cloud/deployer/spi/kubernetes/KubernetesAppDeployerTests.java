@@ -26,6 +26,7 @@ import java.util.Properties;
 
 import io.fabric8.kubernetes.api.model.AffinityBuilder;
 import io.fabric8.kubernetes.api.model.ConfigMapKeySelector;
+import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.EnvVar;
 import io.fabric8.kubernetes.api.model.HostPathVolumeSource;
 import io.fabric8.kubernetes.api.model.HostPathVolumeSourceBuilder;
@@ -40,8 +41,10 @@ import io.fabric8.kubernetes.api.model.PodAntiAffinity;
 import io.fabric8.kubernetes.api.model.PodSecurityContext;
 import io.fabric8.kubernetes.api.model.PodSpec;
 import io.fabric8.kubernetes.api.model.PreferredSchedulingTerm;
+import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.SecretKeySelector;
 import io.fabric8.kubernetes.api.model.Toleration;
+import io.fabric8.kubernetes.api.model.TopologySpreadConstraint;
 import io.fabric8.kubernetes.api.model.VolumeBuilder;
 import io.fabric8.kubernetes.api.model.WeightedPodAffinityTerm;
 import org.junit.Test;
@@ -262,6 +265,38 @@ public class KubernetesAppDeployerTests {
 		assertThat(podSpec.getImagePullSecrets().get(0).getName()).isEqualTo("regcred");
 	}
 
+	@Test
+	public void deployWithPriorityClass() {
+		KubernetesDeployerProperties kubernetesDeployerProperties = new KubernetesDeployerProperties();
+		kubernetesDeployerProperties.setPriorityClassName("batch");
+		AppDefinition definition = new AppDefinition("app-test", null);
+
+		Map<String, String> props = new HashMap<>();
+		props.put("spring.cloud.deployer.kubernetes.priorityClassName", "interactive");
+		props.put("spring.cloud.deployer.kubernetes.preemptionPolicy", "Never");
+
+		deployer = new KubernetesAppDeployer(kubernetesDeployerProperties, null);
+
+		PodSpec podSpec = deployer.createPodSpec(new AppDeploymentRequest(definition, getResource(), props));
+		assertThat(podSpec.getPriorityClassName()).isEqualTo("interactive");
+		assertThat(podSpec.getPreemptionPolicy()).isEqualTo("Never");
+
+		podSpec = deployer.createPodSpec(new AppDeploymentRequest(definition, getResource(), new HashMap<>()));
+		assertThat(podSpec.getPriorityClassName()).isEqualTo("batch");
+		assertThat(podSpec.getPreemptionPolicy()).isNull();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void deployWithInvalidPreemptionPolicy() {
+		AppDefinition definition = new AppDefinition("app-test", null);
+
+		Map<String, String> props = new HashMap<>();
+		props.put("spring.cloud.deployer.kubernetes.preemptionPolicy", "Sometimes");
+
+		deployer = new KubernetesAppDeployer(new KubernetesDeployerProperties(), null);
+		deployer.createPodSpec(new AppDeploymentRequest(definition, getResource(), props));
+	}
+
 	@Test
 	public void deployWithDeploymentServiceAccountNameDeploymentProperties() {
 		AppDefinition definition = new AppDefinition("app-test", null);
@@ -345,6 +380,41 @@ public class KubernetesAppDeployerTests {
 		assertThat(podSpec.getTolerations().contains(new Toleration("NoSchedule", "test2", "Equal", 5L, "false")));
 	}
 
+	@Test
+	public void deployWithTopologySpreadConstraints() {
+		KubernetesDeployerProperties.TopologySpreadConstraint zoneConstraint =
+				new KubernetesDeployerProperties.TopologySpreadConstraint();
+		zoneConstraint.setTopologyKey("topology.kubernetes.io/zone");
+		KubernetesDeployerProperties kubernetesDeployerProperties = new KubernetesDeployerProperties();
+		kubernetesDeployerProperties.getTopologySpreadConstraints().add(zoneConstraint);
+
+		AppDefinition definition = new AppDefinition("app-test", null);
+		deployer = new KubernetesAppDeployer(kubernetesDeployerProperties, null);
+
+		PodSpec podSpec = deployer.createPodSpec(new AppDeploymentRequest(definition, getResource(), new HashMap<>()));
+
+		assertThat(podSpec.getTopologySpreadConstraints()).hasSize(1);
+		TopologySpreadConstraint constraint = podSpec.getTopologySpreadConstraints().get(0);
+		assertThat(constraint.getTopologyKey()).isEqualTo("topology.kubernetes.io/zone");
+		assertThat(constraint.getMaxSkew()).isEqualTo(1);
+		assertThat(constraint.getWhenUnsatisfiable()).isEqualTo("DoNotSchedule");
+		assertThat(constraint.getLabelSelector().getMatchLabels()).containsOnly(entry("spring-app-id", "app-test"));
+
+		Map<String, String> props = new HashMap<>();
+		props.put("spring.cloud.deployer.kubernetes.topologySpreadConstraints",
+				"[{maxSkew: 2, topologyKey: 'kubernetes.io/hostname', whenUnsatisfiable: 'ScheduleAnyway', "
+						+ "labelSelector: {role: 'processor'}}]");
+
+		podSpec = deployer.createPodSpec(new AppDeploymentRequest(definition, getResource(), props));
+
+		assertThat(podSpec.getTopologySpreadConstraints()).hasSize(1);
+		constraint = podSpec.getTopologySpreadConstraints().get(0);
+		assertThat(constraint.getTopologyKey()).isEqualTo("kubernetes.io/hostname");
+		assertThat(constraint.getMaxSkew()).isEqualTo(2);
+		assertThat(constraint.getWhenUnsatisfiable()).isEqualTo("ScheduleAnyway");
+		assertThat(constraint.getLabelSelector().getMatchLabels()).containsOnly(entry("role", "processor"));
+	}
+
 	@Test
 	public void deployWithTolerationPropertyOverride() {
 		AppDefinition definition = new AppDefinition("app-test", null);
@@ -1328,6 +1398,122 @@ public class KubernetesAppDeployerTests {
 		assertEquals("PreferredDuringSchedulingIgnoredDuringExecution should have one element", 1, podAntiAffinityTest.getPreferredDuringSchedulingIgnoredDuringExecution().size());
 	}
 
+	@Test
+	public void testStatefulSetIndexFromInitContainerByDefault() {
+		AppDefinition definition = new AppDefinition("app-test", null);
+		AppDeploymentRequest appDeploymentRequest = new AppDeploymentRequest(definition, getResource(), new HashMap<>());
+
+		deployer = new KubernetesAppDeployer(new KubernetesDeployerProperties(), null);
+		PodSpec podSpec = deployer.createStatefulSetPodSpec(appDeploymentRequest);
+
+		assertThat(podSpec.getInitContainers()).extracting("name").containsExactly("index-provider");
+		assertThat(podSpec.getVolumes()).extracting("name").contains("config");
+	}
+
+	@Test
+	public void testStatefulSetGuaranteedQosProfileAppliesToInitContainers() {
+		Map<String, String> props = new HashMap<>();
+		props.put("spring.cloud.deployer.kubernetes.qosProfile", "guaranteed");
+		props.put("spring.cloud.deployer.kubernetes.limits.cpu", "2");
+		props.put("spring.cloud.deployer.kubernetes.limits.memory", "1Gi");
+		props.put("spring.cloud.deployer.kubernetes.cpuPinning", "true");
+		props.put("spring.cloud.deployer.kubernetes.initContainer.containerName", "init");
+		props.put("spring.cloud.deployer.kubernetes.initContainer.imageName", "busybox:1.32");
+
+		AppDefinition definition = new AppDefinition("app-test", null);
+		AppDeploymentRequest appDeploymentRequest = new AppDeploymentRequest(definition, getResource(), props);
+
+		deployer = new KubernetesAppDeployer(new KubernetesDeployerProperties(), null);
+		PodSpec podSpec = deployer.createStatefulSetPodSpec(appDeploymentRequest);
+
+		List<Container> containers = new ArrayList<>(podSpec.getContainers());
+		containers.addAll(podSpec.getInitContainers());
+		assertThat(podSpec.getInitContainers()).extracting("name").containsExactly("init", "index-provider");
+		for (Container container : containers) {
+			assertThat(container.getResources().getRequests()).containsEntry("cpu", new Quantity("2"))
+					.containsEntry("memory", new Quantity("1Gi"));
+			assertThat(container.getResources().getLimits()).isEqualTo(container.getResources().getRequests());
+		}
+	}
+
+	@Test
+	public void testStatefulSetIndexFromDownwardApi() {
+		Map<String, String> props = new HashMap<>();
+		props.put("spring.cloud.deployer.kubernetes.statefulSetIndexProvider", "downwardApi");
+
+		AppDefinition definition = new AppDefinition("app-test", null);
+		AppDeploymentRequest appDeploymentRequest = new AppDeploymentRequest(definition, getResource(), props);
+
+		deployer = new KubernetesAppDeployer(new KubernetesDeployerProperties(), null);
+		PodSpec podSpec = deployer.createStatefulSetPodSpec(appDeploymentRequest);
+
+		assertThat(podSpec.getInitContainers()).isEmpty();
+		assertThat(podSpec.getVolumes()).extracting("name").doesNotContain("config");
+
+		List<EnvVar> envVars = podSpec.getContainers().get(0).getEnv();
+		for (String name : Arrays.asList("INSTANCE_INDEX", "SPRING_APPLICATION_INDEX")) {
+			EnvVar envVar = envVars.stream().filter(e -> e.getName().equals(name)).findFirst().get();
+			assertThat(envVar.getValueFrom().getFieldRef().getFieldPath())
+					.isEqualTo("metadata.labels['apps.kubernetes.io/pod-index']");
+		}
+	}
+
+	@Test
+	public void testAutoscalerNotConfigured() {
+		DeploymentPropertiesResolver resolver = new DeploymentPropertiesResolver(
+				KubernetesDeployerProperties.KUBERNETES_DEPLOYER_PROPERTIES_PREFIX, new KubernetesDeployerProperties());
+
+		assertNull(resolver.getAutoscaler(Collections.emptyMap()));
+	}
+
+	@Test
+	public void testAutoscalerDeploymentProperties() {
+		KubernetesDeployerProperties kubernetesDeployerProperties = new KubernetesDeployerProperties();
+		kubernetesDeployerProperties.getAutoscaler().setCpuUtilization(70);
+		DeploymentPropertiesResolver resolver = new DeploymentPropertiesResolver(
+				KubernetesDeployerProperties.KUBERNETES_DEPLOYER_PROPERTIES_PREFIX, kubernetesDeployerProperties);
+
+		Map<String, String> props = new HashMap<>();
+		props.put("spring.cloud.deployer.kubernetes.autoscaler.minReplicas", "2");
+		props.put("spring.cloud.deployer.kubernetes.autoscaler.maxReplicas", "10");
+		props.put("spring.cloud.deployer.kubernetes.autoscaler.customMetrics",
+				"[{name: 'http_requests', targetAverageValue: '100'}]");
+
+		KubernetesDeployerProperties.Autoscaler autoscaler = resolver.getAutoscaler(props);
+
+		assertThat(autoscaler.getMinReplicas()).isEqualTo(2);
+		assertThat(autoscaler.getMaxReplicas()).isEqualTo(10);
+		assertThat(autoscaler.getCpuUtilization()).isEqualTo(70);
+		assertThat(autoscaler.getMemoryUtilization()).isNull();
+		assertThat(autoscaler.getCustomMetrics()).hasSize(1);
+		assertThat(autoscaler.getCustomMetrics().get(0).getName()).isEqualTo("http_requests");
+		assertThat(autoscaler.getCustomMetrics().get(0).getTargetAverageValue()).isEqualTo("100");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAutoscalerMinReplicasExceedsMaxReplicas() {
+		DeploymentPropertiesResolver resolver = new DeploymentPropertiesResolver(
+				KubernetesDeployerProperties.KUBERNETES_DEPLOYER_PROPERTIES_PREFIX, new KubernetesDeployerProperties());
+
+		Map<String, String> props = new HashMap<>();
+		props.put("spring.cloud.deployer.kubernetes.autoscaler.minReplicas", "5");
+		props.put("spring.cloud.deployer.kubernetes.autoscaler.maxReplicas", "3");
+
+		resolver.getAutoscaler(props);
+	}
+
+	@Test
+	public void testProgressDeadlineSeconds() {
+		KubernetesDeployerProperties kubernetesDeployerProperties = new KubernetesDeployerProperties();
+		kubernetesDeployerProperties.setProgressDeadlineSeconds(300);
+		DeploymentPropertiesResolver resolver = new DeploymentPropertiesResolver(
+				KubernetesDeployerProperties.KUBERNETES_DEPLOYER_PROPERTIES_PREFIX, kubernetesDeployerProperties);
+
+		assertThat(resolver.getProgressDeadlineSeconds(Collections.emptyMap())).isEqualTo(300);
+		assertThat(resolver.getProgressDeadlineSeconds(Collections.singletonMap(
+				"spring.cloud.deployer.kubernetes.progressDeadlineSeconds", "120"))).isEqualTo(120);
+	}
+
 	private Resource getResource() {
 		return new DockerResource("springcloud/spring-cloud-deployer-spi-test-app:latest");
 	}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.time.Instant;
+import java.util.Collections;
+
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.ContainerStatusBuilder;
+import io.fabric8.kubernetes.api.model.EventBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link KubernetesAppInstanceStatus}.
+ */
+public class KubernetesAppInstanceStatusTests {
+
+	@Test
+	public void unschedulablePodIsDeployingWithDiagnosis() {
+		KubernetesAppInstanceStatus status = new KubernetesAppInstanceStatus(unschedulablePod(Instant.now()), null,
+				new KubernetesDeployerProperties(), null);
+		status.setWarningEvents(Collections.singletonList(new EventBuilder()
+				.withReason("FailedScheduling")
+				.withMessage("0/3 nodes are available: 3 node(s) had taint {dedicated: batch}")
+				.build()));
+
+		assertThat(status.getState()).isEqualTo(DeploymentState.deploying);
+		assertThat(status.getAttributes())
+				.containsEntry("pod.scheduled.reason", "Unschedulable")
+				.containsEntry("pod.scheduled.message", "0/3 nodes are available: 3 Insufficient memory.")
+				.containsEntry("pod.events", "FailedScheduling: 0/3 nodes are available: 3 node(s) had taint {dedicated: batch}");
+	}
+
+	@Test
+	public void pendingPodFailsAfterPendingTimeout() {
+		KubernetesDeployerProperties properties = new KubernetesDeployerProperties();
+		properties.setPendingTimeout(60);
+
+		KubernetesAppInstanceStatus recent = new KubernetesAppInstanceStatus(unschedulablePod(Instant.now()), null,
+				properties, null);
+		KubernetesAppInstanceStatus stale = new KubernetesAppInstanceStatus(
+				unschedulablePod(Instant.now().minusSeconds(120)), null, properties, null);
+
+		assertThat(recent.getState()).isEqualTo(DeploymentState.deploying);
+		assertThat(stale.getState()).isEqualTo(DeploymentState.failed);
+	}
+
+	@Test
+	public void scheduledPodPullingItsImageDoesNotTimeOut() {
+		KubernetesDeployerProperties properties = new KubernetesDeployerProperties();
+		properties.setPendingTimeout(60);
+		Pod pod = new PodBuilder()
+				.withNewMetadata()
+				.withName("app-1")
+				.withCreationTimestamp(Instant.now().minusSeconds(600).toString())
+				.addToLabels(AbstractKubernetesDeployer.SPRING_APP_KEY, "app")
+				.endMetadata()
+				.withNewStatus()
+				.withPhase("Pending")
+				.addNewCondition()
+				.withType("PodScheduled")
+				.withStatus("True")
+				.withLastTransitionTime(Instant.now().minusSeconds(590).toString())
+				.endCondition()
+				.endStatus()
+				.build();
+		ContainerStatus containerStatus = new ContainerStatusBuilder()
+				.withName("app")
+				.withNewState().withNewWaiting().withReason("ContainerCreating").endWaiting().endState()
+				.build();
+
+		KubernetesAppInstanceStatus status = new KubernetesAppInstanceStatus(pod, null, properties, containerStatus);
+
+		assertThat(status.getState()).isEqualTo(DeploymentState.deploying);
+	}
+
+	private Pod unschedulablePod(Instant unscheduledSince) {
+		return new PodBuilder()
+				.withNewMetadata()
+				.withName("app-1")
+				.withCreationTimestamp(unscheduledSince.minusSeconds(5).toString())
+				.addToLabels(AbstractKubernetesDeployer.SPRING_APP_KEY, "app")
+				.endMetadata()
+				.withNewStatus()
+				.withPhase("Pending")
+				.addNewCondition()
+				.withType("PodScheduled")
+				.withStatus("False")
+				.withReason("Unschedulable")
+				.withMessage("0/3 nodes are available: 3 Insufficient memory.")
+				.withLastTransitionTime(unscheduledSince.toString())
+				.endCondition()
+				.endStatus()
+				.build();
+	}
+}
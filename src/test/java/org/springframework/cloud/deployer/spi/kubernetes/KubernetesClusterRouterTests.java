@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link KubernetesClusterRouter} and the {@link ClusterPlacementStrategy} implementations.
+ */
+public class KubernetesClusterRouterTests {
+
+	private static final String PREFIX = KubernetesDeployerProperties.KUBERNETES_DEPLOYER_PROPERTIES_PREFIX;
+
+	@Test
+	public void roundRobinPlacement() {
+		KubernetesClusterRouter<String> router = new KubernetesClusterRouter<>(PREFIX, clusters(),
+				ClusterPlacement.roundRobin.createStrategy());
+
+		assertThat(router.place(Collections.emptyMap(), delegate -> 0)).isEqualTo("east");
+		assertThat(router.place(Collections.emptyMap(), delegate -> 0)).isEqualTo("west");
+		assertThat(router.place(Collections.emptyMap(), delegate -> 0)).isEqualTo("east");
+	}
+
+	@Test
+	public void leastLoadedPlacement() {
+		KubernetesClusterRouter<String> router = new KubernetesClusterRouter<>(PREFIX, clusters(),
+				ClusterPlacement.leastLoaded.createStrategy());
+
+		assertThat(router.place(Collections.emptyMap(), delegate -> delegate.equals("east-client") ? 5 : 2))
+				.isEqualTo("west");
+	}
+
+	@Test
+	public void pinnedPropertyOverridesStrategy() {
+		KubernetesClusterRouter<String> router = new KubernetesClusterRouter<>(PREFIX, clusters(),
+				ClusterPlacement.leastLoaded.createStrategy());
+
+		Map<String, String> props = new HashMap<>();
+		props.put("spring.cloud.deployer.kubernetes.cluster", "east");
+
+		assertThat(router.place(props, delegate -> delegate.equals("east-client") ? 5 : 2)).isEqualTo("east");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void pinnedPlacementRequiresProperty() {
+		KubernetesClusterRouter<String> router = new KubernetesClusterRouter<>(PREFIX, clusters(),
+				ClusterPlacement.pinned.createStrategy());
+
+		router.place(Collections.emptyMap(), delegate -> 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unknownPinnedCluster() {
+		KubernetesClusterRouter<String> router = new KubernetesClusterRouter<>(PREFIX, clusters(),
+				ClusterPlacement.pinned.createStrategy());
+
+		router.place(Collections.singletonMap("spring.cloud.deployer.kubernetes.cluster", "north"), delegate -> 0);
+	}
+
+	@Test
+	public void routeUsesIndexBeforeProbingClusters() {
+		KubernetesClusterRouter<String> router = new KubernetesClusterRouter<>(PREFIX, clusters(),
+				ClusterPlacement.roundRobin.createStrategy());
+		AtomicInteger probes = new AtomicInteger();
+
+		router.register("app-1", "west");
+		assertThat(router.route("app-1", delegate -> probes.incrementAndGet() > 0)).isEqualTo("west-client");
+		assertThat(probes.get()).isZero();
+
+		assertThat(router.route("app-2", delegate -> delegate.equals("west-client"))).isEqualTo("west-client");
+		assertThat(router.route("app-2", delegate -> false)).isEqualTo("west-client");
+
+		router.unregister("app-2");
+		assertThat(router.route("app-2", delegate -> false)).isEqualTo("east-client");
+	}
+
+	private Map<String, String> clusters() {
+		Map<String, String> clusters = new LinkedHashMap<>();
+		clusters.put("east", "east-client");
+		clusters.put("west", "west-client");
+		return clusters;
+	}
+}
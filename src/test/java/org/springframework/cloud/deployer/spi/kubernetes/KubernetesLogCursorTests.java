@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link KubernetesLogCursor}.
+ */
+public class KubernetesLogCursorTests {
+
+	@Test
+	public void firstRequestReturnsAllLines() {
+		KubernetesLogCursor cursor = KubernetesLogCursor.decode(null);
+
+		assertThat(cursor.getSinceTime("app-0/app")).isNull();
+		assertThat(cursor.advance("app-0/app", "2020-05-01T10:00:00.100Z one\n2020-05-01T10:00:01.200Z two\n"))
+				.isEqualTo("one\ntwo\n");
+	}
+
+	@Test
+	public void tokenSkipsLinesAlreadyReturned() {
+		KubernetesLogCursor cursor = KubernetesLogCursor.decode(null);
+		cursor.advance("app-0/app", "2020-05-01T10:00:00.100Z one\n2020-05-01T10:00:01.200Z two\n");
+		String token = cursor.encode();
+
+		KubernetesLogCursor next = KubernetesLogCursor.decode(token);
+		assertThat(next.getSinceTime("app-0/app")).isEqualTo("2020-05-01T10:00:01Z");
+		assertThat(next.advance("app-0/app", "2020-05-01T10:00:01.200Z two\n  trace\n2020-05-01T10:00:01.500Z three\n"))
+				.isEqualTo("three\n");
+	}
+
+	@Test
+	public void containerWithoutNewLinesKeepsItsPosition() {
+		KubernetesLogCursor cursor = KubernetesLogCursor.decode(null);
+		cursor.advance("app-0/app", "2020-05-01T10:00:00.100Z one\n");
+
+		KubernetesLogCursor next = KubernetesLogCursor.decode(cursor.encode());
+		assertThat(next.advance("app-0/app", "")).isEmpty();
+		assertThat(KubernetesLogCursor.decode(next.encode()).getSinceTime("app-0/app")).isEqualTo("2020-05-01T10:00:00Z");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidToken() {
+		KubernetesLogCursor.decode("not-a-token");
+	}
+}
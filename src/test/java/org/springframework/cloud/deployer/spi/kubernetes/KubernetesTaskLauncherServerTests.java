@@ -0,0 +1,150 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.resource.docker.DockerResource;
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the requests {@link KubernetesTaskLauncher} sends to the Kubernetes API.
+ */
+public class KubernetesTaskLauncherServerTests {
+
+	@Rule
+	public KubernetesServer server = new KubernetesServer(false, true);
+
+	private KubernetesClient client;
+
+	private KubernetesDeployerProperties deployerProperties;
+
+	private KubernetesTaskLauncher taskLauncher;
+
+	@Before
+	public void setUp() {
+		this.client = this.server.getClient();
+		this.deployerProperties = new KubernetesDeployerProperties();
+		this.taskLauncher = new KubernetesTaskLauncher(this.deployerProperties, new KubernetesTaskLauncherProperties(),
+				this.client);
+	}
+
+	@Test
+	public void destroyDeletesAllPodsWithOneRequest() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			this.client.pods().create(new PodBuilder().withNewMetadata().withName("task-" + i)
+					.addToLabels("task-name", "task").endMetadata().build());
+		}
+		int requestCount = this.server.getMockServer().getRequestCount();
+
+		this.taskLauncher.destroy("task");
+
+		assertThat(this.server.getMockServer().getRequestCount()).isEqualTo(requestCount + 1);
+		RecordedRequest delete = lastRequest(requestCount + 1);
+		assertThat(delete.getMethod()).isEqualTo("DELETE");
+		assertThat(delete.getPath()).isEqualTo("/api/v1/namespaces/test/pods?labelSelector=task-name%3Dtask"
+				+ "&propagationPolicy=Background");
+		assertThat(this.client.pods().withLabel("task-name", "task").list().getItems()).isEmpty();
+	}
+
+	@Test
+	public void destroyDeletesAllJobsWithOneRequest() throws Exception {
+		this.deployerProperties.setCreateJob(true);
+		int requestCount = this.server.getMockServer().getRequestCount();
+
+		this.taskLauncher.destroy("task");
+
+		assertThat(this.server.getMockServer().getRequestCount()).isEqualTo(requestCount + 1);
+		assertThat(lastRequest(requestCount + 1).getPath()).isEqualTo("/apis/batch/v1/namespaces/test/jobs"
+				+ "?labelSelector=task-name%3Dtask&propagationPolicy=Background");
+	}
+
+	@Test
+	public void cleanupAllDeletesExecutionsWithOneRequestPerChunk() throws Exception {
+		int requestCount = this.server.getMockServer().getRequestCount();
+
+		this.taskLauncher.cleanupAll(Arrays.asList("task-a", "task-b"));
+
+		assertThat(this.server.getMockServer().getRequestCount()).isEqualTo(requestCount + 1);
+		assertThat(lastRequest(requestCount + 1).getPath()).isEqualTo("/api/v1/namespaces/test/pods"
+				+ "?labelSelector=spring-app-id%20in%20%28task-a%2Ctask-b%29&propagationPolicy=Background");
+	}
+
+	@Test
+	public void launchAllLaunchesTheSameRequestTwice() {
+		AppDeploymentRequest request = request(Collections.emptyMap());
+
+		BatchOperationResult<Integer, String> result = this.taskLauncher.launchAll(Arrays.asList(request, request));
+
+		assertThat(result.isSuccessful()).isTrue();
+		assertThat(result.getSuccesses()).containsOnlyKeys(0, 1);
+		assertThat(result.getSuccesses().get(0)).isNotEqualTo(result.getSuccesses().get(1));
+		assertThat(this.client.pods().withLabel("task-name", "task").list().getItems()).hasSize(2);
+	}
+
+	@Test
+	public void indexedCompletionModeIsSentWithTheJob() throws Exception {
+		this.deployerProperties.setCreateJob(true);
+		Map<String, String> deploymentProperties = new HashMap<>();
+		deploymentProperties.put("spring.cloud.deployer.kubernetes.completions", "3");
+		deploymentProperties.put("spring.cloud.deployer.kubernetes.completionMode", "Indexed");
+
+		String id = this.taskLauncher.launch(request(deploymentProperties));
+
+		RecordedRequest create = takeRequest("POST", "/apis/batch/v1/namespaces/test/jobs");
+		assertThat(create.getBody().readUtf8()).contains("\"completionMode\":\"Indexed\"");
+		assertThat(this.client.batch().jobs().withName(id).get().getSpec().getCompletions()).isEqualTo(3);
+	}
+
+	private RecordedRequest takeRequest(String method, String path) throws InterruptedException {
+		int requestCount = this.server.getMockServer().getRequestCount();
+		for (int i = 0; i < requestCount; i++) {
+			RecordedRequest request = this.server.getMockServer().takeRequest();
+			if (method.equals(request.getMethod()) && path.equals(request.getPath())) {
+				return request;
+			}
+		}
+		throw new AssertionError(String.format("No %s request to %s", method, path));
+	}
+
+	private static AppDeploymentRequest request(Map<String, String> deploymentProperties) {
+		return new AppDeploymentRequest(new AppDefinition("task", Collections.emptyMap()),
+				new DockerResource("springcloud/task:latest"), deploymentProperties);
+	}
+
+	private RecordedRequest lastRequest(int requestCount) throws InterruptedException {
+		RecordedRequest request = null;
+		for (int i = 0; i < requestCount; i++) {
+			request = this.server.getMockServer().takeRequest();
+		}
+		return request;
+	}
+}
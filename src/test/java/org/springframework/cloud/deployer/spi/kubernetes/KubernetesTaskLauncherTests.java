@@ -0,0 +1,248 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import io.fabric8.kubernetes.api.model.ListMeta;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.api.model.batch.Job;
+import io.fabric8.kubernetes.api.model.batch.JobBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.task.LaunchState;
+import org.springframework.core.io.Resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link KubernetesTaskLauncher}.
+ */
+public class KubernetesTaskLauncherTests {
+
+	private KubernetesClient client;
+
+	private KubernetesDeployerProperties deployerProperties;
+
+	private KubernetesTaskLauncher taskLauncher;
+
+	@Before
+	public void setUp() {
+		this.client = mock(KubernetesClient.class, RETURNS_DEEP_STUBS);
+		when(this.client.pods().withLabel("task-name").list()).thenReturn(podList());
+		this.deployerProperties = new KubernetesDeployerProperties();
+		this.taskLauncher = new KubernetesTaskLauncher(this.deployerProperties, new KubernetesTaskLauncherProperties(),
+				this.client);
+	}
+
+	@Test
+	public void destroyDeletesPodsByTaskName() {
+		this.taskLauncher.destroy("task");
+
+		verify(this.client.pods().withLabel("task-name", "task")).delete();
+	}
+
+	@Test
+	public void destroyDeletesJobsByTaskName() {
+		this.deployerProperties.setCreateJob(true);
+
+		this.taskLauncher.destroy("task");
+
+		verify(this.client.batch().jobs().withLabel("task-name", "task")).delete();
+	}
+
+	@Test
+	public void destroyWaitsUntilPodsAreGone() {
+		PodList remaining = new PodListBuilder().addToItems(new PodBuilder().withNewMetadata().withName("task-1")
+				.endMetadata().build()).build();
+		PodList empty = new PodList();
+		empty.setItems(Collections.emptyList());
+		when(this.client.pods().withLabel("task-name", "task").list()).thenReturn(remaining, empty);
+
+		this.taskLauncher.destroy("task", Duration.ofSeconds(5));
+
+		verify(this.client.pods().withLabel("task-name", "task")).delete();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void destroyFailsWhenPodsRemainAfterTimeout() {
+		PodList remaining = new PodListBuilder().addToItems(new PodBuilder().withNewMetadata().withName("task-1")
+				.endMetadata().build()).build();
+		when(this.client.pods().withLabel("task-name", "task").list()).thenReturn(remaining);
+
+		this.taskLauncher.destroy("task", Duration.ofMillis(100));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void destroyClosesTheTaskWatchAndShutsDownTheExecutors() {
+		Watch watch = mock(Watch.class);
+		when(this.client.pods().withLabel("task-name").watch(nullable(String.class), any(Watcher.class)))
+				.thenReturn(watch);
+		this.taskLauncher.addCompletionListener(completion -> { });
+
+		this.taskLauncher.destroy();
+
+		verify(watch).close();
+		assertThat(this.taskLauncher.getApiExecutor().isShutdown()).isTrue();
+		assertThat(this.taskLauncher.getScheduler().isShutdown()).isTrue();
+	}
+
+	@Test
+	public void jobWithRetriedPodFailureIsStillRunning() {
+		Job job = new JobBuilder().withNewSpec().withCompletions(4).withParallelism(2).endSpec()
+				.withNewStatus().withActive(2).withSucceeded(1).withFailed(1).endStatus().build();
+
+		assertThat(KubernetesTaskLauncher.getJobState(job)).isEqualTo(LaunchState.running);
+	}
+
+	@Test
+	public void jobStateFollowsTerminalCondition() {
+		Job job = new JobBuilder().withNewSpec().withCompletions(4).endSpec()
+				.withNewStatus().withSucceeded(2).withFailed(7)
+				.addNewCondition().withType("Failed").withStatus("True").withReason("BackoffLimitExceeded").endCondition()
+				.endStatus().build();
+
+		assertThat(KubernetesTaskLauncher.getJobState(job)).isEqualTo(LaunchState.failed);
+	}
+
+	@Test
+	public void jobIsCompleteOnceAllCompletionsSucceeded() {
+		Job job = new JobBuilder().withNewSpec().withCompletions(4).endSpec()
+				.withNewStatus().withSucceeded(4).endStatus().build();
+
+		assertThat(KubernetesTaskLauncher.getJobState(job)).isEqualTo(LaunchState.complete);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void indexedCompletionRequiresCompletions() {
+		this.taskLauncher.isIndexedCompletion(request(Collections.singletonMap(
+				"spring.cloud.deployer.kubernetes.completionMode", "Indexed")), null);
+	}
+
+	@Test(expected = MaximumConcurrentTasksExceededException.class)
+	public void launchAllChecksMaximumConcurrentTasksOnceForTheBatch() {
+		this.deployerProperties.setMaximumConcurrentTasks(2);
+
+		this.taskLauncher.launchAll(Arrays.asList(request(Collections.emptyMap()), request(Collections.emptyMap()),
+				request(Collections.emptyMap())));
+	}
+
+	@Test
+	public void awaitCompletionReturnsOutcomeOfFinishedTask() throws Exception {
+		Pod pod = taskPod("Failed", 3, "Error");
+		when(this.client.pods().withName("task-abc").get()).thenReturn(pod);
+		when(this.client.pods().withLabels(anyMap()).list().getItems()).thenReturn(Collections.singletonList(pod));
+
+		TaskCompletion completion = this.taskLauncher.awaitCompletion("task-abc", Duration.ofSeconds(5))
+				.get(5, TimeUnit.SECONDS);
+
+		assertThat(completion.getState()).isEqualTo(LaunchState.failed);
+		assertThat(completion.getExitCode()).isEqualTo(3);
+		assertThat(completion.getReason()).isEqualTo("Error");
+		assertThat(completion.getTaskName()).isEqualTo("task");
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void completionListenerIsNotifiedOnceThroughTheWatch() throws Exception {
+		List<TaskCompletion> completions = new CopyOnWriteArrayList<>();
+		CompletableFuture<TaskCompletion> notified = new CompletableFuture<>();
+		this.taskLauncher.addCompletionListener(completion -> {
+			completions.add(completion);
+			notified.complete(completion);
+		});
+		ArgumentCaptor<Watcher<Pod>> watcher = ArgumentCaptor.forClass(Watcher.class);
+		verify(this.client.pods().withLabel("task-name")).watch(nullable(String.class), watcher.capture());
+
+		watcher.getValue().eventReceived(Watcher.Action.MODIFIED, taskPod("Succeeded", 0, "Completed"));
+		watcher.getValue().eventReceived(Watcher.Action.MODIFIED, taskPod("Succeeded", 0, "Completed"));
+
+		assertThat(notified.get(5, TimeUnit.SECONDS).getExitCode()).isEqualTo(0);
+		this.taskLauncher.getApiExecutor().shutdown();
+		assertThat(this.taskLauncher.getApiExecutor().awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(completions).hasSize(1);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void completionsFinishedBeforeTheWatchStartedAreNotNotified() throws Exception {
+		when(this.client.pods().withLabel("task-name").list()).thenReturn(podList(taskPod("Succeeded", 0, "Completed")));
+		List<TaskCompletion> completions = new CopyOnWriteArrayList<>();
+		this.taskLauncher.addCompletionListener(completions::add);
+		ArgumentCaptor<Watcher<Pod>> watcher = ArgumentCaptor.forClass(Watcher.class);
+		verify(this.client.pods().withLabel("task-name")).watch(nullable(String.class), watcher.capture());
+
+		watcher.getValue().eventReceived(Watcher.Action.MODIFIED, taskPod("Succeeded", 0, "Completed"));
+		Pod deleting = taskPod("Failed", 137, "Error");
+		deleting.getMetadata().setName("task-def");
+		deleting.getMetadata().setDeletionTimestamp("2020-05-01T10:00:00Z");
+		watcher.getValue().eventReceived(Watcher.Action.MODIFIED, deleting);
+
+		this.taskLauncher.getApiExecutor().shutdown();
+		assertThat(this.taskLauncher.getApiExecutor().awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(completions).isEmpty();
+	}
+
+	private static PodList podList(Pod... pods) {
+		PodList podList = new PodList();
+		podList.setMetadata(new ListMeta());
+		podList.setItems(Arrays.asList(pods));
+		return podList;
+	}
+
+	private Pod taskPod(String phase, int exitCode, String reason) {
+		return new PodBuilder()
+				.withNewMetadata().withName("task-abc").addToLabels("task-name", "task").endMetadata()
+				.withNewSpec().addNewContainer().withName("task-abc")
+				.addNewEnv().withName("SPRING_CLOUD_APPLICATION_GUID").withValue("guid").endEnv()
+				.endContainer().endSpec()
+				.withNewStatus().withPhase(phase).addNewContainerStatus().withName("task-abc").withNewState()
+				.withNewTerminated().withExitCode(exitCode).withReason(reason).endTerminated()
+				.endState().endContainerStatus().endStatus()
+				.build();
+	}
+
+	private AppDeploymentRequest request(Map<String, String> deploymentProperties) {
+		return new AppDeploymentRequest(new AppDefinition("task", Collections.emptyMap()), mock(Resource.class),
+				deploymentProperties);
+	}
+}
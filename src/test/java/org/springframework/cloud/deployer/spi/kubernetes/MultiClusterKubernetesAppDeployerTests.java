@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.app.AppStatus;
+import org.springframework.cloud.deployer.spi.app.DeploymentState;
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.core.io.Resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the placement and routing of {@link MultiClusterKubernetesAppDeployer}.
+ */
+public class MultiClusterKubernetesAppDeployerTests {
+
+	private KubernetesAppDeployer east;
+
+	private KubernetesAppDeployer west;
+
+	private MultiClusterKubernetesAppDeployer deployer;
+
+	@Before
+	public void setUp() {
+		this.east = mockDeployer();
+		this.west = mockDeployer();
+		Map<String, KubernetesAppDeployer> deployers = new LinkedHashMap<>();
+		deployers.put("east", this.east);
+		deployers.put("west", this.west);
+		this.deployer = new MultiClusterKubernetesAppDeployer(deployers, ClusterPlacement.roundRobin.createStrategy());
+	}
+
+	@Test
+	public void newAppsArePlacedByTheStrategy() {
+		this.deployer.deploy(request("app-1", Collections.emptyMap()));
+		this.deployer.deploy(request("app-2", Collections.emptyMap()));
+
+		verify(this.east).deploy(any());
+		verify(this.west).deploy(any());
+	}
+
+	@Test
+	public void redeployIsRoutedToTheOwningCluster() {
+		when(this.west.status("app-1")).thenReturn(deployed("app-1"));
+		AppDeploymentRequest request = request("app-1", Collections.emptyMap());
+
+		this.deployer.deploy(request);
+
+		verify(this.west).deploy(request);
+		verify(this.east, never()).deploy(any());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void redeployPinnedToAnotherClusterFails() {
+		when(this.west.status("app-1")).thenReturn(deployed("app-1"));
+
+		this.deployer.deploy(request("app-1",
+				Collections.singletonMap("spring.cloud.deployer.kubernetes.cluster", "east")));
+	}
+
+	@Test
+	public void requestsForAnAppAreRoutedToItsCluster() {
+		when(this.west.status("app-1")).thenReturn(deployed("app-1"));
+
+		assertThat(this.deployer.status("app-1").getState()).isEqualTo(DeploymentState.deployed);
+		this.deployer.undeploy("app-1");
+
+		verify(this.west).undeploy("app-1");
+		verify(this.east, never()).undeploy(anyString());
+	}
+
+	@Test
+	public void scaleAllRoutesEachAppToItsClusterAndMergesTheResults() {
+		when(this.east.status("app-1")).thenReturn(deployed("app-1"));
+		when(this.west.status("app-2")).thenReturn(deployed("app-2"));
+		BatchOperationResult<String, Integer> eastResult = new BatchOperationResult<>();
+		eastResult.addSuccess("app-1", 3);
+		BatchOperationResult<String, Integer> westResult = new BatchOperationResult<>();
+		IllegalStateException failure = new IllegalStateException("failed");
+		westResult.addFailure("app-2", failure);
+		when(this.east.scaleAll(Collections.singletonMap("app-1", 3))).thenReturn(eastResult);
+		when(this.west.scaleAll(Collections.singletonMap("app-2", 3))).thenReturn(westResult);
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		counts.put("app-1", 3);
+		counts.put("app-2", 3);
+
+		BatchOperationResult<String, Integer> result = this.deployer.scaleAll(counts);
+
+		assertThat(result.getSuccesses()).containsOnly(entry("app-1", 3));
+		assertThat(result.getFailures()).containsOnly(entry("app-2", failure));
+	}
+
+	@Test
+	public void scaleGroupScalesTheGroupOnEveryCluster() {
+		BatchOperationResult<String, Integer> eastResult = new BatchOperationResult<>();
+		eastResult.addSuccess("app-1", 2);
+		BatchOperationResult<String, Integer> westResult = new BatchOperationResult<>();
+		westResult.addSuccess("app-2", 2);
+		when(this.east.scaleGroup("group", 2)).thenReturn(eastResult);
+		when(this.west.scaleGroup("group", 2)).thenReturn(westResult);
+
+		BatchOperationResult<String, Integer> result = this.deployer.scaleGroup("group", 2);
+
+		assertThat(result.getSuccesses()).containsOnly(entry("app-1", 2), entry("app-2", 2));
+	}
+
+	private static KubernetesAppDeployer mockDeployer() {
+		KubernetesAppDeployer deployer = mock(KubernetesAppDeployer.class);
+		when(deployer.status(anyString())).thenAnswer(invocation ->
+				AppStatus.of(invocation.getArgument(0)).build());
+		when(deployer.createDeploymentId(any())).thenAnswer(invocation ->
+				invocation.<AppDeploymentRequest>getArgument(0).getDefinition().getName());
+		when(deployer.deploy(any())).thenAnswer(invocation ->
+				invocation.<AppDeploymentRequest>getArgument(0).getDefinition().getName());
+		return deployer;
+	}
+
+	private static AppStatus deployed(String appId) {
+		return AppStatus.of(appId).generalState(DeploymentState.deployed).build();
+	}
+
+	private static AppDeploymentRequest request(String name, Map<String, String> deploymentProperties) {
+		return new AppDeploymentRequest(new AppDefinition(name, Collections.emptyMap()), mock(Resource.class),
+				deploymentProperties);
+	}
+}
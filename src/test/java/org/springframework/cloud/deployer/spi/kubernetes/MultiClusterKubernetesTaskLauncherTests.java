@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.cloud.deployer.spi.task.LaunchState;
+import org.springframework.cloud.deployer.spi.task.TaskStatus;
+import org.springframework.core.io.Resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the placement and routing of {@link MultiClusterKubernetesTaskLauncher}.
+ */
+public class MultiClusterKubernetesTaskLauncherTests {
+
+	private KubernetesTaskLauncher east;
+
+	private KubernetesTaskLauncher west;
+
+	private MultiClusterKubernetesTaskLauncher taskLauncher;
+
+	@Before
+	public void setUp() {
+		this.east = mock(KubernetesTaskLauncher.class);
+		this.west = mock(KubernetesTaskLauncher.class);
+		Map<String, KubernetesTaskLauncher> launchers = new LinkedHashMap<>();
+		launchers.put("east", this.east);
+		launchers.put("west", this.west);
+		this.taskLauncher = new MultiClusterKubernetesTaskLauncher(launchers,
+				ClusterPlacement.roundRobin.createStrategy());
+	}
+
+	@Test
+	public void launchedTasksAreRoutedToTheirCluster() {
+		AppDeploymentRequest request = request(Collections.emptyMap());
+		when(this.east.launch(request)).thenReturn("task-1");
+		when(this.west.launch(request)).thenReturn("task-2");
+		when(this.west.status("task-2")).thenReturn(new TaskStatus("task-2", LaunchState.running, null));
+
+		assertThat(this.taskLauncher.launch(request)).isEqualTo("task-1");
+		assertThat(this.taskLauncher.launch(request)).isEqualTo("task-2");
+		assertThat(this.taskLauncher.status("task-2").getState()).isEqualTo(LaunchState.running);
+		verify(this.east, never()).status(anyString());
+	}
+
+	@Test
+	public void pinnedLaunchGoesToTheNamedCluster() {
+		AppDeploymentRequest request = request(
+				Collections.singletonMap("spring.cloud.deployer.kubernetes.cluster", "west"));
+		when(this.west.launch(request)).thenReturn("task-1");
+
+		assertThat(this.taskLauncher.launch(request)).isEqualTo("task-1");
+		verify(this.east, never()).launch(request);
+	}
+
+	@Test
+	public void launchAllMapsClusterResultsBackToTheBatch() {
+		AppDeploymentRequest first = request(Collections.emptyMap());
+		AppDeploymentRequest second = request(Collections.emptyMap());
+		AppDeploymentRequest third = request(Collections.emptyMap());
+		BatchOperationResult<Integer, String> eastResult = new BatchOperationResult<>();
+		eastResult.addSuccess(0, "task-1");
+		IllegalStateException failure = new IllegalStateException("failed");
+		eastResult.addFailure(1, failure);
+		BatchOperationResult<Integer, String> westResult = new BatchOperationResult<>();
+		westResult.addSuccess(0, "task-2");
+		when(this.east.launchAll(Arrays.asList(first, third))).thenReturn(eastResult);
+		when(this.west.launchAll(Collections.singletonList(second))).thenReturn(westResult);
+
+		List<AppDeploymentRequest> requests = Arrays.asList(first, second, third);
+		BatchOperationResult<Integer, String> result = this.taskLauncher.launchAll(requests);
+
+		assertThat(result.getSuccesses()).containsEntry(0, "task-1").containsEntry(1, "task-2").hasSize(2);
+		assertThat(result.getFailures()).containsEntry(2, failure).hasSize(1);
+	}
+
+	private static AppDeploymentRequest request(Map<String, String> deploymentProperties) {
+		return new AppDeploymentRequest(new AppDefinition("task", Collections.emptyMap()), mock(Resource.class),
+				deploymentProperties);
+	}
+}
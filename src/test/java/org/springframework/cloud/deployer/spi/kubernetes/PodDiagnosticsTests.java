@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PodDiagnostics}.
+ */
+public class PodDiagnosticsTests {
+
+	@Test
+	public void detectsImagePullFailure() {
+		Pod pod = new PodBuilder()
+				.withNewStatus()
+				.withPhase("Pending")
+				.addNewContainerStatus()
+				.withName("app")
+				.withNewState()
+				.withNewWaiting()
+				.withReason("ImagePullBackOff")
+				.withMessage("Back-off pulling image \"app:missing\"")
+				.endWaiting()
+				.endState()
+				.endContainerStatus()
+				.endStatus()
+				.build();
+
+		assertThat(PodDiagnostics.getFailureReason(pod)).isEqualTo("ImagePullBackOff: Back-off pulling image \"app:missing\"");
+	}
+
+	@Test
+	public void detectsUnschedulablePod() {
+		Pod pod = new PodBuilder()
+				.withNewStatus()
+				.withPhase("Pending")
+				.addNewCondition()
+				.withType("PodScheduled")
+				.withStatus("False")
+				.withReason("Unschedulable")
+				.withMessage("0/3 nodes are available: 3 Insufficient cpu.")
+				.endCondition()
+				.endStatus()
+				.build();
+
+		assertThat(PodDiagnostics.getFailureReason(pod)).isEqualTo("Unschedulable: 0/3 nodes are available: 3 Insufficient cpu.");
+	}
+
+	@Test
+	public void ignoresContainersThatAreStarting() {
+		Pod pod = new PodBuilder()
+				.withNewStatus()
+				.withPhase("Pending")
+				.addNewContainerStatus()
+				.withName("app")
+				.withNewState()
+				.withNewWaiting()
+				.withReason("ContainerCreating")
+				.endWaiting()
+				.endState()
+				.endContainerStatus()
+				.endStatus()
+				.build();
+
+		assertThat(PodDiagnostics.getFailureReason(pod)).isNull();
+	}
+}
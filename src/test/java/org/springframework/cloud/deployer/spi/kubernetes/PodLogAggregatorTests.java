@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PodLogAggregator}.
+ */
+public class PodLogAggregatorTests {
+
+	@Test
+	public void singlePodLogIsReturnedAsIs() {
+		assertThat(PodLogAggregator.concatenate(Collections.singletonMap("app-0", "line\n"))).isEqualTo("line\n");
+	}
+
+	@Test
+	public void concatenateAddsPodHeaders() {
+		Map<String, String> logs = new LinkedHashMap<>();
+		logs.put("app-0", "a\n");
+		logs.put("app-1", "b");
+
+		assertThat(PodLogAggregator.concatenate(logs)).isEqualTo("==> app-0 <==\na\n==> app-1 <==\nb\n");
+	}
+
+	@Test
+	public void mergeByTimestampInterleavesLines() {
+		Map<String, String> logs = new LinkedHashMap<>();
+		logs.put("app-0", "2020-05-01T10:00:00.100Z first\n2020-05-01T10:00:00.300Z third\n  at continuation\n");
+		logs.put("app-1", "2020-05-01T10:00:00.200Z second\n2020-05-01T10:00:00.400Z fourth\n");
+
+		assertThat(PodLogAggregator.mergeByTimestamp(logs)).isEqualTo(
+				"[app-0] 2020-05-01T10:00:00.100Z first\n" +
+				"[app-1] 2020-05-01T10:00:00.200Z second\n" +
+				"[app-0] 2020-05-01T10:00:00.300Z third\n" +
+				"[app-0]   at continuation\n" +
+				"[app-1] 2020-05-01T10:00:00.400Z fourth\n");
+	}
+
+	@Test
+	public void parseTimestamp() {
+		assertThat(PodLogAggregator.parseTimestamp("2020-05-01T10:00:00.123456789Z message")).isNotNull();
+		assertThat(PodLogAggregator.parseTimestamp("no timestamp")).isNull();
+	}
+}
@@ -18,9 +18,12 @@ package org.springframework.cloud.deployer.spi.kubernetes;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
 import org.hamcrest.MatcherAssert;
 import org.junit.Before;
 import org.junit.Test;
@@ -29,6 +32,8 @@ import org.springframework.cloud.deployer.spi.core.AppDefinition;
 import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
 import org.springframework.core.io.FileSystemResource;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
@@ -173,4 +178,74 @@ public class RunAbstractKubernetesDeployerTests {
 		Map<String, Quantity> requests = this.deploymentPropertiesResolver.deduceResourceRequests(deploymentRequest.getDeploymentProperties());
 		MatcherAssert.assertThat(requests.get("memory"), is(new Quantity("256Mi")));
 	}
+
+	@Test
+	public void guaranteedQosProfile_usesLimitsForRequests() {
+		kubernetesDeployerProperties.getLimits().setCpu("2");
+		kubernetesDeployerProperties.getLimits().setMemory("1Gi");
+		kubernetesDeployerProperties.getRequests().setCpu("500m");
+		deploymentProperties.put("spring.cloud.deployer.kubernetes.qosProfile", "guaranteed");
+		deploymentProperties.put("spring.cloud.deployer.kubernetes.cpuPinning", "true");
+		ResourceRequirements resources = this.deploymentPropertiesResolver.deduceResourceRequirements(deploymentRequest.getDeploymentProperties());
+		MatcherAssert.assertThat(resources.getRequests().get("cpu"), is(new Quantity("2")));
+		MatcherAssert.assertThat(resources.getRequests().get("memory"), is(new Quantity("1Gi")));
+		MatcherAssert.assertThat(resources.getLimits(), is(resources.getRequests()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void cpuPinning_fractionalCpu_fails() {
+		kubernetesDeployerProperties.getLimits().setCpu("1500m");
+		kubernetesDeployerProperties.getLimits().setMemory("1Gi");
+		kubernetesDeployerProperties.setQosProfile(QosProfile.guaranteed);
+		kubernetesDeployerProperties.setCpuPinning(true);
+		this.deploymentPropertiesResolver.deduceResourceRequirements(deploymentRequest.getDeploymentProperties());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void burstableQosProfile_limitsWithoutRequests_fails() {
+		kubernetesDeployerProperties.getLimits().setCpu("1");
+		kubernetesDeployerProperties.getLimits().setMemory("1Gi");
+		kubernetesDeployerProperties.setQosProfile(QosProfile.burstable);
+		this.deploymentPropertiesResolver.deduceResourceRequirements(deploymentRequest.getDeploymentProperties());
+	}
+
+	@Test
+	public void burstableQosProfile_requestBelowLimit_keepsRequests() {
+		kubernetesDeployerProperties.getLimits().setCpu("1");
+		kubernetesDeployerProperties.getLimits().setMemory("1Gi");
+		kubernetesDeployerProperties.getRequests().setCpu("250m");
+		kubernetesDeployerProperties.setQosProfile(QosProfile.burstable);
+		ResourceRequirements resources = this.deploymentPropertiesResolver.deduceResourceRequirements(deploymentRequest.getDeploymentProperties());
+		MatcherAssert.assertThat(resources.getRequests().get("cpu"), is(new Quantity("250m")));
+		MatcherAssert.assertThat(resources.getLimits().get("cpu"), is(new Quantity("1")));
+	}
+
+	@Test
+	public void besteffortQosProfile_removesCpuAndMemory() {
+		kubernetesDeployerProperties.getLimits().setCpu("1");
+		kubernetesDeployerProperties.getRequests().setMemory("256Mi");
+		kubernetesDeployerProperties.setQosProfile(QosProfile.besteffort);
+		ResourceRequirements resources = this.deploymentPropertiesResolver.deduceResourceRequirements(deploymentRequest.getDeploymentProperties());
+		assertThat(resources.getLimits().isEmpty(), is(true));
+		assertThat(resources.getRequests().isEmpty(), is(true));
+	}
+
+	@Test
+	public void runBatchCollectsSuccessesAndFailures() {
+		AbstractKubernetesDeployer deployer = new KubernetesAppDeployer(this.kubernetesDeployerProperties, null);
+
+		Map<String, Callable<Integer>> operations = new LinkedHashMap<>();
+		operations.put("app-1", () -> 1);
+		operations.put("app-2", () -> {
+			throw new IllegalStateException("App 'app-2' is not deployed");
+		});
+		operations.put("app-3", () -> 3);
+
+		BatchOperationResult<String, Integer> result = deployer.runBatch(operations);
+
+		assertThat(result.isSuccessful(), is(false));
+		assertThat(result.getSuccesses().keySet(), contains("app-1", "app-3"));
+		assertThat(result.getSuccesses().get("app-3"), is(3));
+		assertThat(result.getFailures().get("app-2"), instanceOf(IllegalStateException.class));
+	}
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TaskIdGenerator}.
+ */
+public class TaskIdGeneratorTests {
+
+	private final Clock clock = Clock.fixed(Instant.parse("2020-05-01T10:00:00Z"), ZoneOffset.UTC);
+
+	@Test
+	public void idsWithinOneMillisecondAreUnique() {
+		TaskIdGenerator generator = new TaskIdGenerator(1, this.clock);
+
+		String first = generator.nextId();
+		String second = generator.nextId();
+
+		assertThat(first).isNotEqualTo(second);
+		assertThat(first).matches("[a-z0-9]+");
+	}
+
+	@Test
+	public void instancesWithDistinctIdsDoNotCollide() {
+		assertThat(new TaskIdGenerator(1, this.clock).nextId())
+				.isNotEqualTo(new TaskIdGenerator(2, this.clock).nextId());
+	}
+
+	@Test
+	public void idsAreUniqueUnderConcurrency() throws Exception {
+		TaskIdGenerator generator = new TaskIdGenerator(1);
+		Set<String> ids = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 1000; j++) {
+						ids.add(generator.nextId());
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(ids).hasSize(8000);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void instanceIdMustFitItsRange() {
+		new TaskIdGenerator(70000, this.clock);
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.springframework.cloud.deployer.spi.core.AppDefinition;
+import org.springframework.cloud.deployer.spi.core.AppDeploymentRequest;
+import org.springframework.core.io.Resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link TaskLaunchQueue}.
+ */
+public class TaskLaunchQueueTests {
+
+	private final List<String> launched = new ArrayList<>();
+
+	private final AtomicInteger slots = new AtomicInteger();
+
+	@Test
+	public void launchesRightAwayWhenSlotsAreAvailable() throws Exception {
+		TaskLaunchQueue queue = createQueue(10, false);
+		this.slots.set(1);
+
+		CompletableFuture<String> future = queue.submit(request("a"), 0);
+
+		assertThat(future.get()).isEqualTo("a-0");
+		assertThat(queue.size()).isZero();
+	}
+
+	@Test
+	public void queuedLaunchesStartOnDrain() throws Exception {
+		TaskLaunchQueue queue = createQueue(10, false);
+
+		CompletableFuture<String> first = queue.submit(request("a"), 0);
+		CompletableFuture<String> second = queue.submit(request("a"), 0);
+		assertThat(first).isNotDone();
+		assertThat(queue.size()).isEqualTo(2);
+
+		this.slots.set(1);
+		queue.drain();
+
+		assertThat(first.get()).isEqualTo("a-0");
+		assertThat(second).isNotDone();
+		assertThat(queue.size()).isEqualTo(1);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsLaunchesBeyondCapacity() throws Throwable {
+		TaskLaunchQueue queue = createQueue(1, false);
+		queue.submit(request("a"), 0);
+
+		try {
+			queue.submit(request("b"), 0).get();
+		}
+		catch (ExecutionException e) {
+			throw e.getCause();
+		}
+	}
+
+	@Test
+	public void alternatesBetweenTaskNames() {
+		TaskLaunchQueue queue = createQueue(10, false);
+		queue.submit(request("a"), 0);
+		queue.submit(request("a"), 0);
+		queue.submit(request("a"), 0);
+		queue.submit(request("b"), 0);
+
+		this.slots.set(3);
+		queue.drain();
+
+		assertThat(this.launched).containsExactly("a", "b", "a");
+	}
+
+	@Test
+	public void higherPriorityGoesFirstWhenPrioritized() {
+		TaskLaunchQueue queue = createQueue(10, true);
+		CompletableFuture<String> low = queue.submit(request("a"), 0);
+		queue.submit(request("b"), 0);
+		CompletableFuture<String> high = queue.submit(request("a"), 5);
+
+		this.slots.set(2);
+		queue.drain();
+
+		assertThat(this.launched).containsExactly("a", "b");
+		assertThat(high).isCompleted();
+		assertThat(low).isNotDone();
+	}
+
+	@Test
+	public void launchRejectedByTheLauncherIsRequeued() throws Exception {
+		AtomicInteger attempts = new AtomicInteger();
+		TaskLaunchQueue queue = new TaskLaunchQueue(request -> {
+			if (attempts.incrementAndGet() == 1) {
+				throw new MaximumConcurrentTasksExceededException("limit reached");
+			}
+			return "a-0";
+		}, this.slots::get, Runnable::run, 10, false);
+		this.slots.set(1);
+
+		CompletableFuture<String> future = queue.submit(request("a"), 0);
+		assertThat(future).isNotDone();
+		assertThat(queue.size()).isEqualTo(1);
+
+		queue.drain();
+
+		assertThat(future.get()).isEqualTo("a-0");
+		assertThat(queue.size()).isZero();
+	}
+
+	private TaskLaunchQueue createQueue(int capacity, boolean prioritized) {
+		return new TaskLaunchQueue(request -> {
+			String name = request.getDefinition().getName();
+			String id = name + "-" + Collections.frequency(this.launched, name);
+			this.launched.add(name);
+			this.slots.decrementAndGet();
+			return id;
+		}, this.slots::get, Runnable::run, capacity, prioritized);
+	}
+
+	private AppDeploymentRequest request(String name) {
+		return new AppDeploymentRequest(new AppDefinition(name, Collections.emptyMap()), mock(Resource.class));
+	}
+}
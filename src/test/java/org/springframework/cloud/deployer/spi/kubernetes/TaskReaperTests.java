@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.deployer.spi.kubernetes;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link TaskReaper}.
+ */
+public class TaskReaperTests {
+
+	private static final Instant NOW = Instant.parse("2020-05-01T10:00:00Z");
+
+	private KubernetesTaskLauncher taskLauncher;
+
+	private KubernetesTaskLauncherProperties.Reaper properties;
+
+	private TaskReaper taskReaper;
+
+	@Before
+	public void setUp() {
+		this.taskLauncher = mock(KubernetesTaskLauncher.class);
+		this.properties = new KubernetesTaskLauncherProperties.Reaper();
+		this.taskReaper = new TaskReaper(Collections.singletonList(this.taskLauncher), this.properties, Clock.fixed(NOW, ZoneOffset.UTC));
+	}
+
+	@Test
+	public void retainsEverythingByDefault() {
+		assertThat(this.taskReaper.selectExpired(tasks(
+				completed("a-1", "a", true, 60),
+				completed("a-2", "a", false, 120)))).isEmpty();
+	}
+
+	@Test
+	public void expiresExecutionsOlderThanMaxAge() {
+		this.properties.setMaxAge(Duration.ofMinutes(10));
+
+		assertThat(this.taskReaper.selectExpired(tasks(
+				completed("a-1", "a", true, 60),
+				completed("a-2", "a", true, 3600),
+				completed("b-1", "b", false, 7200)))).containsExactlyInAnyOrder("a-2", "b-1");
+	}
+
+	@Test
+	public void retainsMostRecentExecutionsPerTaskAndOutcome() {
+		this.properties.setMaxSucceededPerTask(1);
+		this.properties.setMaxFailedPerTask(2);
+
+		assertThat(this.taskReaper.selectExpired(tasks(
+				completed("a-1", "a", true, 300),
+				completed("a-2", "a", true, 60),
+				completed("a-3", "a", false, 400),
+				completed("a-4", "a", false, 200),
+				completed("a-5", "a", false, 100),
+				completed("b-1", "b", true, 500)))).containsExactlyInAnyOrder("a-1", "a-3");
+	}
+
+	@Test
+	public void reapCleansUpExpiredExecutions() {
+		this.properties.setMaxSucceededPerTask(0);
+		when(this.taskLauncher.getCompletedTasks()).thenReturn(tasks(completed("a-1", "a", true, 60),
+				completed("b-1", "b", true, 60)));
+
+		assertThat(this.taskReaper.reap()).containsExactlyInAnyOrder("a-1", "b-1");
+		verify(this.taskLauncher).cleanupAll(argThat(ids -> ids.containsAll(Arrays.asList("a-1", "b-1"))));
+		verify(this.taskLauncher, never()).cleanup(anyString());
+	}
+
+	private static List<TaskReaper.CompletedTask> tasks(TaskReaper.CompletedTask... tasks) {
+		return new ArrayList<>(Arrays.asList(tasks));
+	}
+
+	private static TaskReaper.CompletedTask completed(String id, String taskName, boolean succeeded, long secondsAgo) {
+		return new TaskReaper.CompletedTask(id, taskName, succeeded, NOW.minusSeconds(secondsAgo));
+	}
+}